@@ -0,0 +1,65 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ConfigReader;
+import utils.LoginTestDataReader;
+
+// Config lookups, test-data reads and logging calls; none of these touch a driver, so they
+// run once instead of per FrameworkBenchmarks parameter combination.
+// Run with: mvn -Pjmh test-compile exec:exec [-Djmh.args="ConfigLoggingBenchmarks -f 1"]
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = FrameworkBenchmarks.QUIET_LOGGING)
+@State(Scope.Thread)
+public class ConfigLoggingBenchmarks {
+
+    private static final Logger log = LogManager.getLogger(ConfigLoggingBenchmarks.class);
+
+    private int itemCount = 6;
+    private Object products = new Object();
+
+    // ------------------------------------------
+    // Configuration & Test Data
+    // ------------------------------------------
+    @Benchmark
+    public String configGetKey() {
+        return ConfigReader.getKey("browser");
+    }
+
+    @Benchmark
+    public int configGetInt() {
+        return ConfigReader.getInt("explicitWait");
+    }
+
+    @Benchmark
+    public String[] loginDataGetArray() {
+        return LoginTestDataReader.getArray("validUsernames");
+    }
+
+    // ------------------------------------------
+    // Logging
+    // ------------------------------------------
+    @Benchmark
+    public void logInfo() {
+        log.info("Fetched {} product(s)", itemCount);
+    }
+
+    @Benchmark
+    public void logDebugSuppressed() {
+        log.debug("Fetched products: {}", products);
+    }
+
+}
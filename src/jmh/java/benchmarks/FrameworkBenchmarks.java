@@ -0,0 +1,88 @@
+package benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import base.PageState;
+import base.TestContext;
+import pages.CartPage;
+import pages.InventoryPage;
+
+// Page-object overhead against an in-memory driver, with and without the locator cache; no
+// browser is involved. Config and logging costs are in ConfigLoggingBenchmarks.
+// Run with: mvn -Pjmh test-compile exec:exec [-Djmh.args="FrameworkBenchmarks -f 1"]
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = FrameworkBenchmarks.QUIET_LOGGING)
+@State(Scope.Thread)
+public class FrameworkBenchmarks {
+
+    // Page objects log every action; without this each fork writes to the console and logs/
+    static final String QUIET_LOGGING = "-Dlog4j2.configurationFile=log4j2-benchmark.xml";
+
+    @Param({"false", "true"})
+    public boolean locatorCache;
+
+    @Param({"6"})
+    public int itemCount;
+
+    private WebDriver driver;
+    private WebDriverWait wait;
+    private InventoryPage inventoryPage;
+    private CartPage cartPage;
+
+    @Setup
+    public void setup() {
+        driver = new StubDriver(itemCount);
+
+        // Decorated the way DriverFactory does it, so page actions really invalidate the cache
+        if (locatorCache) {
+            PageState pageState = new PageState();
+            driver = new EventFiringDecorator<WebDriver>(pageState).decorate(driver);
+            PageState.register(driver, pageState);
+        }
+
+        wait = new WebDriverWait(driver, Duration.ofSeconds(1));
+
+        TestContext context = new TestContext(driver, wait);
+        inventoryPage = context.getInventoryPage();
+        cartPage = context.getCartPage();
+    }
+
+    // ------------------------------------------
+    // Page Objects
+    // ------------------------------------------
+    @Benchmark
+    public InventoryPage pageObjectConstruction() {
+        return new TestContext(driver, wait).getInventoryPage();
+    }
+
+    @Benchmark
+    public void cartCountThenNames(Blackhole blackhole) {
+        blackhole.consume(cartPage.getCartItemCount());
+        blackhole.consume(cartPage.getCartItemNames());
+    }
+
+    @Benchmark
+    public List<Double> productPrices() {
+        return inventoryPage.getProductPrices();
+    }
+
+}
@@ -0,0 +1,120 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+// In-memory WebDriver: every lookup answers instantly, so benchmarks measure only framework code
+public class StubDriver implements WebDriver, JavascriptExecutor {
+
+    private final int itemCount;
+    private final List<Map<String, Object>> productRows;
+
+    public StubDriver(int itemCount) {
+        this.itemCount = itemCount;
+        this.productRows = new ArrayList<>(itemCount);
+
+        for (int i = 0; i < itemCount; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", "Product " + i);
+            row.put("price", "$" + (i + 7) + ".99");
+            row.put("description", "Description of product " + i);
+            row.put("button", "Add to cart");
+            productRows.add(row);
+        }
+    }
+
+    // ------------------------------------------
+    // Element Lookup
+    // ------------------------------------------
+    @Override
+    public WebElement findElement(By by) {
+        return new StubElement(this, by.toString());
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        List<WebElement> elements = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            elements.add(new StubElement(this, by + "[" + i + "]"));
+        }
+        return elements;
+    }
+
+    // ------------------------------------------
+    // Script Execution
+    // ------------------------------------------
+    // Every script answers with the product rows InventoryPage reads in one round trip
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return productRows;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return productRows;
+    }
+
+    // ------------------------------------------
+    // Unused Navigation & Window Methods
+    // ------------------------------------------
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "https://www.saucedemo.com/inventory.html";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Swag Labs";
+    }
+
+    @Override
+    public String getPageSource() {
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Collections.singleton("stub");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "stub";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("switchTo");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("navigate");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("manage");
+    }
+
+}
@@ -1,30 +1,292 @@
 package base;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.ConfigReader;
+import utils.Timings;
 
-public class BasePage extends BaseTest {
+public class BasePage {
 
-    protected WebDriver driver;
-    protected WebDriverWait wait;
+    // ------------------------------------------
+    // Wait Configuration
+    // ------------------------------------------
+    private static final long POLL_MIN_MILLIS = ConfigReader.getInt("waitPollMinMillis");
+    private static final long POLL_MAX_MILLIS = ConfigReader.getInt("waitPollMaxMillis");
+    private static final int BACKOFF_MULTIPLIER = ConfigReader.getInt("waitBackoffMultiplier");
+
+    protected static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(ConfigReader.getInt("explicitWait"));
+    protected static final Duration ACTION_TIMEOUT = Duration.ofSeconds(ConfigReader.getInt("actionTimeout"));
+    protected static final Duration SETTLE_QUIET_PERIOD = Duration.ofMillis(ConfigReader.getInt("pageSettleQuietMillis"));
+
+    // Resolves as soon as a mutation makes the selector match, rather than on a poll tick
+    private static final String WAIT_FOR_SELECTOR_SCRIPT = PageState.readOnlyScript(
+            "var selector = arguments[0], visible = arguments[1], timeout = arguments[2];"
+          + "var done = arguments[arguments.length - 1];"
+          + "function match() {"
+          + "  var element = document.querySelector(selector);"
+          + "  if (!element) { return null; }"
+          + "  if (visible && !(element.offsetWidth || element.offsetHeight || element.getClientRects().length)) {"
+          + "    return null;"
+          + "  }"
+          + "  return element;"
+          + "}"
+          + "var found = match();"
+          + "if (found) { done(found); return; }"
+          + "var timer;"
+          + "var observer = new MutationObserver(function () {"
+          + "  var element = match();"
+          + "  if (element) { observer.disconnect(); clearTimeout(timer); done(element); }"
+          + "});"
+          + "observer.observe(document.documentElement, { childList: true, subtree: true, attributes: true });"
+          + "timer = setTimeout(function () { observer.disconnect(); done(null); }, timeout);");
+
+    // Resolves once the DOM has had no mutations for the quiet period
+    private static final String PAGE_SETTLED_SCRIPT = PageState.readOnlyScript(
+            "var quiet = arguments[0], timeout = arguments[1];"
+          + "var done = arguments[arguments.length - 1];"
+          + "var quietTimer, deadline;"
+          + "var observer = new MutationObserver(arm);"
+          + "function finish(settled) {"
+          + "  observer.disconnect(); clearTimeout(quietTimer); clearTimeout(deadline); done(settled);"
+          + "}"
+          + "function arm() {"
+          + "  clearTimeout(quietTimer);"
+          + "  quietTimer = setTimeout(function () {"
+          + "    if (document.readyState === 'loading') { arm(); } else { finish(true); }"
+          + "  }, quiet);"
+          + "}"
+          + "observer.observe(document.documentElement,"
+          + "  { childList: true, subtree: true, attributes: true, characterData: true });"
+          + "deadline = setTimeout(function () { finish(false); }, timeout);"
+          + "arm();");
+
+    protected final Logger log = LogManager.getLogger(getClass());
+
+    protected final TestContext context;
+    protected final WebDriver driver;
+    protected final WebDriverWait wait;
 
     // ------------------------------------------
     // Constructor & PageFactory Initialization
     // ------------------------------------------
-    public BasePage(WebDriver driver, WebDriverWait wait) {
-        this.driver = driver;
-        this.wait = wait;
-        PageFactory.initElements(driver, this);
+    // Page objects share the test's context instead of extending BaseTest, so they carry
+    // no lifecycle methods or page references of their own
+    public BasePage(TestContext context) {
+        this.context = context;
+        this.driver = context.getDriver();
+        this.wait = context.getWait();
+
+        // Drivers created with locatorCache=true reuse found elements until the page changes
+        PageState pageState = PageState.of(driver);
+        if (pageState != null) {
+            PageFactory.initElements(new CachingFieldDecorator(driver, pageState), this);
+        } else {
+            PageFactory.initElements(driver, this);
+        }
+    }
+
+    // ------------------------------------------
+    // Wait Engine
+    // ------------------------------------------
+    // Polls quickly at first and backs off towards POLL_MAX_MILLIS, so conditions that
+    // are almost ready return fast without hammering the driver on long waits.
+    protected <T> T waitUntil(Function<? super WebDriver, T> condition, Duration timeout) {
+        return Timings.time("wait.until", () -> poll(condition, timeout));
+    }
+
+    private <T> T poll(Function<? super WebDriver, T> condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long interval = POLL_MIN_MILLIS;
+        RuntimeException lastError = null;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException | ElementNotInteractableException e) {
+                lastError = e;
+            }
+
+            long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+            if (remainingMillis <= 0) {
+                throw new TimeoutException(
+                        "Condition not met within " + timeout.toMillis() + " ms: " + condition, lastError);
+            }
+
+            sleep(Math.min(interval, remainingMillis));
+            interval = Math.min(POLL_MAX_MILLIS, interval * BACKOFF_MULTIPLIER);
+        }
+    }
+
+    protected WebElement waitForSelector(String cssSelector, boolean visible, Duration timeout) {
+        return Timings.time("wait.selector", () -> observeSelector(cssSelector, visible, timeout));
+    }
+
+    private WebElement observeSelector(String cssSelector, boolean visible, Duration timeout) {
+        long start = System.nanoTime();
+
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                    WAIT_FOR_SELECTOR_SCRIPT, cssSelector, visible, timeout.toMillis());
+
+            if (result instanceof WebElement) {
+                return (WebElement) result;
+            }
+            throw new TimeoutException(
+                    "Element '" + cssSelector + "' not found within " + timeout.toMillis() + " ms");
+
+        } catch (JavascriptException | ScriptTimeoutException e) {
+            // The page navigated away while observing; finish the wait by polling the new document
+            Duration remaining = timeout.minus(Duration.ofNanos(System.nanoTime() - start));
+            return poll(d -> {
+                List<WebElement> found = d.findElements(By.cssSelector(cssSelector));
+                if (found.isEmpty() || (visible && !found.get(0).isDisplayed())) {
+                    return null;
+                }
+                return found.get(0);
+            }, remaining.isNegative() ? Duration.ZERO : remaining);
+        }
+    }
+
+    protected boolean waitForPageSettled() {
+        return waitForPageSettled(SETTLE_QUIET_PERIOD, DEFAULT_TIMEOUT);
+    }
+
+    protected boolean waitForPageSettled(Duration quietPeriod, Duration timeout) {
+        return Timings.time("wait.pageSettled", () -> observePageSettled(quietPeriod, timeout));
+    }
+
+    private boolean observePageSettled(Duration quietPeriod, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long remaining = timeout.toMillis();
+
+        while (remaining > 0) {
+            try {
+                Object settled = ((JavascriptExecutor) driver).executeAsyncScript(
+                        PAGE_SETTLED_SCRIPT, quietPeriod.toMillis(), remaining);
+                return Boolean.TRUE.equals(settled);
+            } catch (JavascriptException | ScriptTimeoutException e) {
+                // Navigation replaced the document mid-wait; watch the new one for what is left
+                remaining = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+            }
+        }
+        return false;
     }
 
     // ------------------------------------------
     // Wait Helper Methods
     // ------------------------------------------
     protected void waitForVisibility(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        waitForVisibility(element, DEFAULT_TIMEOUT);
+    }
+
+    protected void waitForVisibility(WebElement element, Duration timeout) {
+        waitUntil(ExpectedConditions.visibilityOf(element), timeout);
+    }
+
+    // ------------------------------------------
+    // Element Action Methods
+    // ------------------------------------------
+    // Actions are attempted straight away and only fall back to waiting when the
+    // element is not there yet, so ready pages pay no extra round trips.
+    protected void click(WebElement element) {
+        click(element, ACTION_TIMEOUT);
+    }
+
+    protected void click(WebElement element, Duration timeout) {
+        try {
+            element.click();
+        } catch (NotFoundException | StaleElementReferenceException | ElementNotInteractableException e) {
+            waitUntil(d -> {
+                element.click();
+                return true;
+            }, timeout);
+        }
+    }
+
+    // For clicks that load or re-render a page: returns once the resulting DOM has gone quiet,
+    // so the next step starts on the new page instead of racing its render
+    protected void clickAndSettle(WebElement element) {
+        click(element);
+        waitForPageSettled();
+    }
+
+    protected void type(WebElement element, String text) {
+        type(element, text, ACTION_TIMEOUT);
+    }
+
+    protected void type(WebElement element, String text, Duration timeout) {
+        try {
+            element.sendKeys(text);
+        } catch (NotFoundException | StaleElementReferenceException | ElementNotInteractableException e) {
+            waitUntil(d -> {
+                element.sendKeys(text);
+                return true;
+            }, timeout);
+        }
+    }
+
+    protected String getText(WebElement element) {
+        return getText(element, ACTION_TIMEOUT);
+    }
+
+    protected String getText(WebElement element, Duration timeout) {
+        try {
+            return element.getText();
+        } catch (NotFoundException | StaleElementReferenceException e) {
+            return waitUntil(d -> element.getText(), timeout);
+        }
+    }
+
+    // ------------------------------------------
+    // Page Performance
+    // ------------------------------------------
+    // Call once the page is ready; see PageMetrics for what a client-side route change does and does not reset
+    public PageMetrics capturePageMetrics() {
+        return step("capturePageMetrics", () -> {
+            PageMetrics metrics = PageMetrics.capture(driver, getClass().getSimpleName()).record();
+            log.info("Page metrics: {}", metrics);
+            return metrics;
+        });
+    }
+
+    // ------------------------------------------
+    // Step Instrumentation
+    // ------------------------------------------
+    protected void step(String action, Runnable body) {
+        Timings.time(getClass().getSimpleName() + "." + action, body);
+    }
+
+    protected <T> T step(String action, Supplier<T> body) {
+        return Timings.time(getClass().getSimpleName() + "." + action, body);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
     }
 
 }
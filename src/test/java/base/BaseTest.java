@@ -1,142 +1,238 @@
 package base;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import pages.CartPage;
 import pages.CheckoutCompletePage;
 import pages.CheckoutInfoPage;
 import pages.CheckoutOverviewPage;
 import pages.InventoryPage;
 import pages.LoginPage;
+import utils.BrowserMatrix;
 import utils.ConfigReader;
+import utils.FailFastListener;
+import utils.LocalSauceDemoServer;
+import utils.Timings;
 
 public class BaseTest {
 
     // ------------------------------------------
-    // WebDriver & Utilities
+    // Per-Thread Execution Context
     // ------------------------------------------
-    protected WebDriver driver;
-    protected WebDriverWait wait;
-    protected JavascriptExecutor js;
-    protected Logger log = LogManager.getLogger(this.getClass());
+    // Test instances are shared between threads when running parallel="methods",
+    // so driver, wait and page objects live in a thread-local context, not in fields.
+    private static final ThreadLocal<TestContext> context = new ThreadLocal<>();
 
-    // ------------------------------------------
-    // Page Objects
-    // ------------------------------------------
-    protected LoginPage loginPage;
-    protected InventoryPage inventoryPage;
-    protected CartPage cartPage;
-    protected CheckoutInfoPage checkoutInfoPage;
-    protected CheckoutOverviewPage checkoutOverviewPage;
-    protected CheckoutCompletePage checkoutCompletePage;
+    protected Logger log = LogManager.getLogger(this.getClass());
 
     // ------------------------------------------
     // Test Lifecycle Methods
     // ------------------------------------------
     @BeforeMethod
-    public void setup() {
+    public void setup(Method method, ITestContext testContext, ITestResult result) {
 
+        FailFastListener.skipIfThresholdReached();
+
+        // Matrix runs (browsers=...) pass the browser as a <test> parameter
+        String browser = BrowserMatrix.browserFor(testContext);
+        String testName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+
+        // Data-provider rows run in parallel, so each one gets its own per-test log file,
+        // named by a hash of its parameters rather than the values (which include passwords)
+        if (result.getParameters().length > 0) {
+            testName += "[" + Integer.toHexString(Arrays.toString(result.getParameters()).hashCode()) + "]";
+        }
+        if (ConfigReader.has("browsers")) {
+            testName += "-" + browser;
+        }
+
+        ThreadContext.put("testName", testName);
         log.info("========== TEST SETUP STARTED ==========");
+        Timings.startTest();
 
         // ------------------------------------------
         // Configuration Values
         // ------------------------------------------
-        String browser = ConfigReader.getKey("browser");
-        String baseUrl = ConfigReader.getKey("baseUrl");
-        boolean headless = ConfigReader.getBoolean("headless");
-        boolean maximize = ConfigReader.getBoolean("maximize");
+        String baseUrl = getBaseUrl();
+        boolean pooled = ConfigReader.getBoolean("driverPool");
         int zoom = ConfigReader.getInt("zoom");
         int explicitWait = ConfigReader.getInt("explicitWait");
 
         // ------------------------------------------
         // WebDriver Initialization
         // ------------------------------------------
-        switch (browser.toLowerCase()) {
-
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                if (headless) {
-                    chromeOptions.addArguments("--headless=new");
-                }
-                chromeOptions.addArguments("--guest");
-                driver = new ChromeDriver(chromeOptions);
-                break;
-
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                if (headless) {
-                    firefoxOptions.addArguments("--headless=new");
-                }
-                driver = new FirefoxDriver(firefoxOptions);
-                break;
-
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                EdgeOptions edgeOptions = new EdgeOptions();
-                if (headless) {
-                    edgeOptions.addArguments("--headless=new");
-                }
-                driver = new EdgeDriver(edgeOptions);
-                break;
-
-            default:
-                throw new RuntimeException("Unsupported browser: " + browser);
+        WebDriver driver;
+
+        if (pooled) {
+            // Pooled sessions are handed out already reset and sitting on baseUrl
+            driver = Timings.time("session.acquire", () -> DriverPool.acquire(browser, baseUrl));
+        } else {
+            driver = DriverFactory.createDriver(browser);
         }
 
-        log.info("Launching browser: {}", browser);
+        // tearDown() only sees sessions that made it into the context, so a failure from here
+        // on has to give the session back itself
+        try {
+            if (!pooled) {
+                log.info("Navigating to url: {}", baseUrl);
+                CdpNavigator.navigate(driver, baseUrl);
+            }
+
+            // ------------------------------------------
+            // Browser Configuration
+            // ------------------------------------------
+            // The fast profile sizes the window at launch instead of zooming every page after load
+            if (zoom != 100 && !DriverFactory.isFastProfile()) {
+                ((JavascriptExecutor) driver).executeScript("document.body.style.zoom='" + zoom + "%';");
+            }
+
+            // ------------------------------------------
+            // Wait & Page Object Initialization
+            // ------------------------------------------
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(explicitWait));
+            context.set(new TestContext(driver, wait));
+
+        } catch (RuntimeException | Error e) {
+            log.warn("Test setup failed, closing the browser session", e);
+            if (pooled) {
+                DriverPool.discard(driver);
+            } else {
+                quietlyQuit(driver);
+            }
+            throw e;
+        }
+    }
 
-        // ------------------------------------------
-        // Browser Configuration
-        // ------------------------------------------
-        driver.get(baseUrl);
-        log.info("Navigating to url: {}", baseUrl);
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        TestContext current = context.get();
+        context.remove();
+
+        try {
+            if (current == null) {
+                return;
+            }
+
+            if (ConfigReader.getBoolean("driverPool")) {
+                log.info("Returning browser to pool");
+                DriverPool.release(current.getDriver(), getBaseUrl());
+            } else {
+                log.info("Closing browser");
+                current.getDriver().quit();
+            }
+        } finally {
+            ThreadContext.clearMap();
+        }
+    }
 
-        if (maximize) {
-            driver.manage().window().maximize();
+    private void quietlyQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            log.debug("Ignoring failure while quitting browser session", e);
         }
+    }
 
-        js = (JavascriptExecutor) driver;
-        if (zoom != 100) {
-            js.executeScript("document.body.style.zoom='" + zoom + "%';");
+    @AfterSuite(alwaysRun = true)
+    public void shutdownDriverPool() {
+        if (ConfigReader.getBoolean("driverPool")) {
+            DriverPool.shutdown();
         }
+        LocalSauceDemoServer.stop();
+    }
 
-        // ------------------------------------------
-        // Wait Initialization
-        // ------------------------------------------
-        wait = new WebDriverWait(driver, Duration.ofSeconds(explicitWait));
+    // ------------------------------------------
+    // Application URL
+    // ------------------------------------------
+    // baseUrl=local serves the bundled SauceDemo mirror from an embedded server,
+    // started on first use and shared by every test in the suite.
+    public static String getBaseUrl() {
+        String baseUrl = ConfigReader.getKey("baseUrl");
+        return "local".equalsIgnoreCase(baseUrl) ? LocalSauceDemoServer.start() : baseUrl;
+    }
 
-        // ------------------------------------------
-        // Page Object Initialization
-        // ------------------------------------------
-        loginPage = new LoginPage(driver, wait);
-        inventoryPage = new InventoryPage(driver, wait);
-        cartPage = new CartPage(driver, wait);
-        checkoutInfoPage = new CheckoutInfoPage(driver, wait);
-        checkoutOverviewPage = new CheckoutOverviewPage(driver, wait);
-        checkoutCompletePage = new CheckoutCompletePage(driver, wait);
+    // ------------------------------------------
+    // Login Helpers
+    // ------------------------------------------
+    // Tests that only need an authenticated session use this instead of LoginPage;
+    // LoginTests keep driving the UI because the login form is what they verify.
+    protected void fastLogin(String username, String password) {
+        if (ConfigReader.getBoolean("fastLogin")) {
+            SessionCache.login(getContext(), username, password);
+        } else {
+            getLoginPage().login(username, password);
+        }
     }
 
-    @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
-            log.info("Closing browser");
-            driver.quit();
+    // Restores the browser state a setup sequence leaves behind instead of replaying it;
+    // `steps` names the sequence so different setups for the same user get separate fixtures.
+    protected void applyStateFixture(String username, List<String> steps, Runnable replay) {
+        if (ConfigReader.getBoolean("stateFixtures")) {
+            StateFixtures.apply(getContext(), username, steps, replay);
+        } else {
+            replay.run();
+        }
+    }
+
+    // ------------------------------------------
+    // Context Accessors
+    // ------------------------------------------
+    public static TestContext getContext() {
+        TestContext current = context.get();
+        if (current == null) {
+            throw new IllegalStateException(
+                    "No test context on thread " + Thread.currentThread().getName() + "; was setup() run?");
         }
+        return current;
+    }
+
+    protected WebDriver getDriver() {
+        return getContext().getDriver();
+    }
+
+    protected WebDriverWait getWait() {
+        return getContext().getWait();
+    }
+
+    protected JavascriptExecutor getJs() {
+        return getContext().getJs();
+    }
+
+    protected LoginPage getLoginPage() {
+        return getContext().getLoginPage();
+    }
+
+    protected InventoryPage getInventoryPage() {
+        return getContext().getInventoryPage();
+    }
+
+    protected CartPage getCartPage() {
+        return getContext().getCartPage();
+    }
+
+    protected CheckoutInfoPage getCheckoutInfoPage() {
+        return getContext().getCheckoutInfoPage();
+    }
+
+    protected CheckoutOverviewPage getCheckoutOverviewPage() {
+        return getContext().getCheckoutOverviewPage();
+    }
+
+    protected CheckoutCompletePage getCheckoutCompletePage() {
+        return getContext().getCheckoutCompletePage();
     }
 
 }
@@ -0,0 +1,87 @@
+package base;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+public class BrowserState {
+
+    private static final String CAPTURE_STORAGE_SCRIPT = PageState.readOnlyScript(
+            "function dump(store) {"
+          + "  var result = {};"
+          + "  for (var i = 0; i < store.length; i++) {"
+          + "    var key = store.key(i);"
+          + "    result[key] = store.getItem(key);"
+          + "  }"
+          + "  return result;"
+          + "}"
+          + "return { local: dump(window.localStorage), session: dump(window.sessionStorage) };");
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];"
+          + "Object.keys(local).forEach(function (key) { window.localStorage.setItem(key, local[key]); });"
+          + "Object.keys(session).forEach(function (key) { window.sessionStorage.setItem(key, session[key]); });";
+
+    private final Set<Cookie> cookies;
+    private final Map<String, Object> localStorage;
+    private final Map<String, Object> sessionStorage;
+    private final String url;
+
+    private BrowserState(Set<Cookie> cookies, Map<String, Object> localStorage,
+                         Map<String, Object> sessionStorage, String url) {
+        this.cookies = cookies;
+        this.localStorage = localStorage;
+        this.sessionStorage = sessionStorage;
+        this.url = url;
+    }
+
+    // ------------------------------------------
+    // Capture & Restore
+    // ------------------------------------------
+    @SuppressWarnings("unchecked")
+    public static BrowserState capture(WebDriver driver) {
+        Map<String, Object> storage =
+                (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+
+        return new BrowserState(
+                Collections.unmodifiableSet(driver.manage().getCookies()),
+                new HashMap<>((Map<String, Object>) storage.get("local")),
+                new HashMap<>((Map<String, Object>) storage.get("session")),
+                driver.getCurrentUrl());
+    }
+
+    // Cookies and storage can only be set for the origin currently loaded, which is
+    // baseUrl for every freshly set up test; callers navigate afterwards.
+    public void restore(WebDriver driver) {
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+
+        if (!localStorage.isEmpty() || !sessionStorage.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, localStorage, sessionStorage);
+        }
+    }
+
+    // ------------------------------------------
+    // State Accessors
+    // ------------------------------------------
+    public boolean isExpired() {
+        Date now = new Date();
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().before(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+}
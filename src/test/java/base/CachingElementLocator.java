@@ -0,0 +1,115 @@
+package base;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+public class CachingElementLocator implements ElementLocator {
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong staleRecoveries = new AtomicLong();
+
+    // A lock rather than synchronized: lookups block on the driver, which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ElementLocator delegate;
+    private final PageState pageState;
+    private final long maxAgeNanos;
+
+    private WebElement element;
+    private long elementGeneration = -1;
+    private long elementFoundAt;
+
+    private List<WebElement> elements;
+    private long elementsGeneration = -1;
+    private long elementsFoundAt;
+
+    public CachingElementLocator(ElementLocator delegate, PageState pageState, long maxAgeMillis) {
+        this.delegate = delegate;
+        this.pageState = pageState;
+        this.maxAgeNanos = maxAgeMillis * 1_000_000L;
+    }
+
+    // ------------------------------------------
+    // ElementLocator
+    // ------------------------------------------
+    // Results are reused only while no mutating WebDriver call has happened since they were
+    // found; the age limit covers DOM changes the page makes on its own timers.
+    @Override
+    public WebElement findElement() {
+        lock.lock();
+        try {
+            if (element != null && isCurrent(elementGeneration, elementFoundAt)) {
+                hits.incrementAndGet();
+                return element;
+            }
+
+            misses.incrementAndGet();
+            long generation = pageState.getGeneration();
+            element = delegate.findElement();
+            elementGeneration = generation;
+            elementFoundAt = System.nanoTime();
+            return element;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<WebElement> findElements() {
+        lock.lock();
+        try {
+            if (elements != null && isCurrent(elementsGeneration, elementsFoundAt)) {
+                hits.incrementAndGet();
+                return elements;
+            }
+
+            misses.incrementAndGet();
+            long generation = pageState.getGeneration();
+            List<WebElement> found = delegate.findElements();
+
+            // Empty results are never cached, so waits polling for elements to appear still see them
+            elements = found.isEmpty() ? null : found;
+            elementsGeneration = generation;
+            elementsFoundAt = System.nanoTime();
+            return found;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        lock.lock();
+        try {
+            element = null;
+            elements = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void staleRecovered() {
+        staleRecoveries.incrementAndGet();
+    }
+
+    private boolean isCurrent(long generation, long foundAt) {
+        return generation == pageState.getGeneration() && System.nanoTime() - foundAt < maxAgeNanos;
+    }
+
+    // ------------------------------------------
+    // Counters
+    // ------------------------------------------
+    public static Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("staleRecoveries", staleRecoveries.get());
+        return stats;
+    }
+
+}
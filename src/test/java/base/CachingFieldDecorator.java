@@ -0,0 +1,108 @@
+package base;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import utils.ConfigReader;
+
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    private static final long MAX_AGE_MILLIS = ConfigReader.getInt("locatorCacheMaxAgeMillis");
+
+    public CachingFieldDecorator(SearchContext searchContext, PageState pageState) {
+        super(field -> new CachingElementLocator(
+                new DefaultElementLocator(searchContext, field), pageState, MAX_AGE_MILLIS));
+    }
+
+    // ------------------------------------------
+    // Proxy Creation
+    // ------------------------------------------
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        CachingElementLocator caching = (CachingElementLocator) locator;
+        return elementProxy(loader, caching, caching::findElement);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<WebElement> proxyForListLocator(ClassLoader loader, ElementLocator locator) {
+        CachingElementLocator caching = (CachingElementLocator) locator;
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            List<WebElement> found = caching.findElements();
+            List<WebElement> recovering = new ArrayList<>(found.size());
+
+            for (int i = 0; i < found.size(); i++) {
+                int index = i;
+                WebElement first = found.get(i);
+                recovering.add(elementProxy(loader, caching, new Supplier<WebElement>() {
+                    private boolean used;
+
+                    // The element already in hand is used first; a re-resolve looks it up by position
+                    @Override
+                    public WebElement get() {
+                        if (!used) {
+                            used = true;
+                            return first;
+                        }
+                        List<WebElement> refreshed = caching.findElements();
+                        if (index >= refreshed.size()) {
+                            throw new NoSuchElementException("Element " + index + " of " + caching + " is gone");
+                        }
+                        return refreshed.get(index);
+                    }
+                }));
+            }
+
+            return invoke(method, recovering, args);
+        };
+
+        return (List<WebElement>) Proxy.newProxyInstance(loader, new Class<?>[] {List.class}, handler);
+    }
+
+    // ------------------------------------------
+    // Stale Recovery
+    // ------------------------------------------
+    // A stale hit means the cached element was replaced; drop the cache and resolve once more.
+    // The failed call never reached the element, so repeating it cannot double-click or double-type.
+    private static WebElement elementProxy(ClassLoader loader, CachingElementLocator locator, Supplier<WebElement> resolve) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("getWrappedElement".equals(method.getName())) {
+                return resolve.get();
+            }
+
+            try {
+                return invoke(method, resolve.get(), args);
+            } catch (StaleElementReferenceException e) {
+                locator.invalidate();
+                locator.staleRecovered();
+                return invoke(method, resolve.get(), args);
+            }
+        };
+
+        return (WebElement) Proxy.newProxyInstance(
+                loader, new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class}, handler);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,418 @@
+package base;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import utils.ConfigReader;
+import utils.Timings;
+
+public class CdpNavigator {
+
+    private static final Logger log = LogManager.getLogger(CdpNavigator.class);
+
+    // ------------------------------------------
+    // Navigation Configuration
+    // ------------------------------------------
+    private static final boolean ENABLED = ConfigReader.getBoolean("cdpNavigation");
+    private static final boolean WAIT_FOR_NETWORK_IDLE = ConfigReader.getBoolean("waitForNetworkIdle");
+    private static final long NETWORK_IDLE_MILLIS = ConfigReader.getInt("networkIdleMillis");
+    private static final int SLOWEST_LOGGED = ConfigReader.getInt("networkSlowestLogged");
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(ConfigReader.getInt("explicitWait"));
+    private static final long POLL_MILLIS = 20;
+    private static final String READY_STATE_SCRIPT = PageState.readOnlyScript("return document.readyState;");
+
+    // One DevTools session per browser; weak keys let quit sessions drop out on their own
+    private static final Map<WebDriver, Optional<CdpNavigator>> navigators =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Locks rather than synchronized: both are held across blocking CDP calls, which would pin a virtual thread
+    private static final ReentrantLock navigatorsLock = new ReentrantLock();
+
+    // ------------------------------------------
+    // Navigator State
+    // ------------------------------------------
+    // CDP events arrive on the DevTools connection thread, so shared state is concurrent/volatile
+    private final DevTools devTools;
+    private final Map<String, RequestTiming> inFlight = new ConcurrentHashMap<>();
+    private final List<RequestTiming> finished = Collections.synchronizedList(new ArrayList<>());
+    private volatile long lastNetworkActivity = System.nanoTime();
+    private volatile boolean domReady;
+    private final ReentrantLock navigationLock = new ReentrantLock();
+
+    private CdpNavigator(DevTools devTools) {
+        this.devTools = devTools;
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<Void>("Network.enable", Collections.emptyMap()));
+        devTools.send(new Command<Void>("Page.enable", Collections.emptyMap()));
+
+        devTools.addListener(event("Network.requestWillBeSent"), this::onRequest);
+        devTools.addListener(event("Network.responseReceived"), this::onResponse);
+        devTools.addListener(event("Network.loadingFinished"), params -> onDone(params, false));
+        devTools.addListener(event("Network.loadingFailed"), params -> onDone(params, true));
+        devTools.addListener(event("Page.domContentEventFired"), params -> domReady = true);
+    }
+
+    // ------------------------------------------
+    // Navigation Entry Points
+    // ------------------------------------------
+    // Chromium sessions navigate over CDP and return at DOMContentLoaded (plus network idle
+    // when waitForNetworkIdle=true); other browsers fall back to driver.get().
+    public static NavigationResult navigate(WebDriver driver, String url) {
+        return navigate(driver, url, DEFAULT_TIMEOUT);
+    }
+
+    public static NavigationResult navigate(WebDriver driver, String url, Duration timeout) {
+        // Page.navigate bypasses the WebDriverListener, so drop cached elements here; bumped
+        // before and after like PageState does, so a lookup racing the navigation is not kept
+        PageState pageState = PageState.of(driver);
+        if (pageState != null) {
+            pageState.invalidate();
+        }
+
+        Optional<CdpNavigator> navigator = forDriver(driver);
+        NavigationResult result;
+        try {
+            result = navigator.isPresent()
+                    ? navigator.get().go(url, timeout)
+                    : fallback(driver, url, timeout);
+        } finally {
+            if (pageState != null) {
+                pageState.invalidate();
+            }
+        }
+
+        result.record();
+        return result;
+    }
+
+    public static boolean isSupported(WebDriver driver) {
+        return forDriver(driver).isPresent();
+    }
+
+    private static Optional<CdpNavigator> forDriver(WebDriver driver) {
+        WebDriver raw = unwrap(driver);
+
+        if (!ENABLED || !(raw instanceof HasDevTools)) {
+            return Optional.empty();
+        }
+
+        navigatorsLock.lock();
+        try {
+            return navigators.computeIfAbsent(raw, key -> {
+                try {
+                    return Optional.of(new CdpNavigator(((HasDevTools) key).getDevTools()));
+                } catch (RuntimeException e) {
+                    log.warn("DevTools unavailable for this session, navigating with driver.get()", e);
+                    return Optional.empty();
+                }
+            });
+        } finally {
+            navigatorsLock.unlock();
+        }
+    }
+
+    // Instrumented drivers are EventFiringDecorator proxies; DevTools lives on the real driver
+    private static WebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        while (current instanceof WrapsDriver) {
+            current = ((WrapsDriver) current).getWrappedDriver();
+        }
+        return current;
+    }
+
+    // ------------------------------------------
+    // CDP Navigation
+    // ------------------------------------------
+    private NavigationResult go(String url, Duration timeout) {
+        navigationLock.lock();
+        try {
+            return navigateLocked(url, timeout);
+        } finally {
+            navigationLock.unlock();
+        }
+    }
+
+    private NavigationResult navigateLocked(String url, Duration timeout) {
+        inFlight.clear();
+        finished.clear();
+        domReady = false;
+        lastNetworkActivity = System.nanoTime();
+
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        Map<String, Object> response = devTools.send(new Command<Map<String, Object>>(
+                "Page.navigate", Collections.singletonMap("url", url), input -> input.read(Json.MAP_TYPE)), timeout);
+
+        Object errorText = response.get("errorText");
+        if (errorText != null && !errorText.toString().isEmpty()) {
+            throw new WebDriverException("Navigation to " + url + " failed: " + errorText);
+        }
+
+        while (!domReady) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("DOMContentLoaded not reached for " + url + " within " + timeout.toMillis() + " ms");
+            }
+            sleep();
+        }
+        long domReadyNanos = System.nanoTime() - start;
+
+        long networkIdleNanos = -1;
+        if (WAIT_FOR_NETWORK_IDLE) {
+            networkIdleNanos = waitForNetworkIdle(start, deadline);
+            if (networkIdleNanos < 0) {
+                log.debug("Network did not go idle for {} ({} request(s) still in flight)", url, inFlight.size());
+            }
+        }
+
+        List<RequestTiming> requests;
+        synchronized (finished) {
+            requests = new ArrayList<>(finished);
+        }
+        return new NavigationResult(url, domReadyNanos, networkIdleNanos, requests);
+    }
+
+    private long waitForNetworkIdle(long start, long deadline) {
+        while (System.nanoTime() < deadline) {
+            long quietMillis = Duration.ofNanos(System.nanoTime() - lastNetworkActivity).toMillis();
+            if (inFlight.isEmpty() && quietMillis >= NETWORK_IDLE_MILLIS) {
+                // Report when the network actually went quiet, not when the quiet period elapsed
+                return lastNetworkActivity - start;
+            }
+            sleep();
+        }
+        return -1;
+    }
+
+    private static NavigationResult fallback(WebDriver driver, String url, Duration timeout) {
+        long start = System.nanoTime();
+        driver.get(url);
+
+        // With eager/none page-load strategies get() can return before the DOM is parsed
+        long deadline = start + timeout.toNanos();
+        while (!"interactive".equals(readyState(driver)) && !"complete".equals(readyState(driver))) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("DOM not ready for " + url + " within " + timeout.toMillis() + " ms");
+            }
+            sleep();
+        }
+
+        return new NavigationResult(url, System.nanoTime() - start, -1, Collections.emptyList());
+    }
+
+    private static String readyState(WebDriver driver) {
+        try {
+            return String.valueOf(((JavascriptExecutor) driver).executeScript(READY_STATE_SCRIPT));
+        } catch (WebDriverException e) {
+            return "loading";
+        }
+    }
+
+    // ------------------------------------------
+    // Network Event Handlers
+    // ------------------------------------------
+    @SuppressWarnings("unchecked")
+    private void onRequest(Map<String, Object> params) {
+        lastNetworkActivity = System.nanoTime();
+        String requestId = (String) params.get("requestId");
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+
+        // A redirect reuses the request id; close out the hop that was redirected
+        RequestTiming redirected = inFlight.remove(requestId);
+        if (redirected != null) {
+            Map<String, Object> redirectResponse = (Map<String, Object>) params.get("redirectResponse");
+            redirected.status = redirectResponse == null ? 0 : number(redirectResponse.get("status")).intValue();
+            redirected.finish(number(params.get("timestamp")).doubleValue(), 0, false);
+            finished.add(redirected);
+        }
+
+        inFlight.put(requestId, new RequestTiming(
+                String.valueOf(request.get("url")),
+                String.valueOf(params.get("type")),
+                number(params.get("timestamp")).doubleValue()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onResponse(Map<String, Object> params) {
+        lastNetworkActivity = System.nanoTime();
+        RequestTiming timing = inFlight.get((String) params.get("requestId"));
+        if (timing != null) {
+            Map<String, Object> response = (Map<String, Object>) params.get("response");
+            timing.status = number(response.get("status")).intValue();
+        }
+    }
+
+    private void onDone(Map<String, Object> params, boolean failed) {
+        lastNetworkActivity = System.nanoTime();
+        RequestTiming timing = inFlight.remove((String) params.get("requestId"));
+        if (timing != null) {
+            timing.finish(number(params.get("timestamp")).doubleValue(),
+                    failed ? 0 : number(params.get("encodedDataLength")).longValue(), failed);
+            finished.add(timing);
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<Map<String, Object>>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static Number number(Object value) {
+        return value instanceof Number ? (Number) value : Integer.valueOf(0);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for navigation", e);
+        }
+    }
+
+    // ------------------------------------------
+    // Request Timing
+    // ------------------------------------------
+    public static class RequestTiming {
+        private final String url;
+        private final String type;
+        private final double startSeconds;
+        private double durationMillis;
+        private int status;
+        private long bytes;
+        private boolean failed;
+
+        private RequestTiming(String url, String type, double startSeconds) {
+            this.url = url;
+            this.type = type;
+            this.startSeconds = startSeconds;
+        }
+
+        private void finish(double endSeconds, long bytes, boolean failed) {
+            this.durationMillis = (endSeconds - startSeconds) * 1000;
+            this.bytes = bytes;
+            this.failed = failed;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public double getDurationMillis() {
+            return durationMillis;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f ms %s %s (%s, %d bytes%s)",
+                    durationMillis, status, url, type, bytes, failed ? ", failed" : "");
+        }
+    }
+
+    // ------------------------------------------
+    // Navigation Result
+    // ------------------------------------------
+    public static class NavigationResult {
+        private final String url;
+        private final long domReadyNanos;
+        private final long networkIdleNanos;
+        private final List<RequestTiming> requests;
+
+        private NavigationResult(String url, long domReadyNanos, long networkIdleNanos, List<RequestTiming> requests) {
+            this.url = url;
+            this.domReadyNanos = domReadyNanos;
+            this.networkIdleNanos = networkIdleNanos;
+            this.requests = Collections.unmodifiableList(requests);
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public double getDomReadyMillis() {
+            return domReadyNanos / 1_000_000.0;
+        }
+
+        // -1 when network idle was not awaited or not reached
+        public double getNetworkIdleMillis() {
+            return networkIdleNanos < 0 ? -1 : networkIdleNanos / 1_000_000.0;
+        }
+
+        public List<RequestTiming> getRequests() {
+            return requests;
+        }
+
+        public List<RequestTiming> getSlowest(int limit) {
+            return requests.stream()
+                    .sorted(Comparator.comparingDouble(RequestTiming::getDurationMillis).reversed())
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+
+        public String toCsv() {
+            StringBuilder csv = new StringBuilder("url,type,status,durationMs,bytes,failed\n");
+            for (RequestTiming request : getSlowest(requests.size())) {
+                csv.append('"').append(request.url.replace("\"", "\"\"")).append("\",")
+                        .append(request.type).append(',')
+                        .append(request.status).append(',')
+                        .append(String.format("%.3f", request.durationMillis)).append(',')
+                        .append(request.bytes).append(',')
+                        .append(request.failed).append('\n');
+            }
+            return csv.toString();
+        }
+
+        // Recorded on the calling thread so the figures land in the current test's timings
+        private void record() {
+            Timings.record("navigate.domReady", domReadyNanos);
+            if (networkIdleNanos >= 0) {
+                Timings.record("navigate.networkIdle", networkIdleNanos);
+            }
+            for (RequestTiming request : requests) {
+                Timings.record("network." + request.type, (long) (request.durationMillis * 1_000_000));
+            }
+
+            log.info("Navigated to {}: DOM ready in {} ms, {} request(s)", url,
+                    Math.round(getDomReadyMillis()), requests.size());
+            if (log.isDebugEnabled()) {
+                getSlowest(SLOWEST_LOGGED).forEach(request -> log.debug("  {}", request));
+            }
+        }
+    }
+
+}
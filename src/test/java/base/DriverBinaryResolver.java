@@ -0,0 +1,145 @@
+package base;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import utils.ConfigReader;
+
+public class DriverBinaryResolver {
+
+    private static final Logger log = LogManager.getLogger(DriverBinaryResolver.class);
+
+    private static final Path CACHE_FILE = Paths.get(ConfigReader.getKey("driverCacheFile"));
+    private static final long CACHE_TTL_MILLIS = TimeUnit.HOURS.toMillis(ConfigReader.getInt("driverCacheTtlHours"));
+
+    // One entry per browser for the lifetime of the JVM; computeIfAbsent makes
+    // concurrent callers for the same browser wait for a single resolution.
+    private static final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+    // ------------------------------------------
+    // Resolution Methods
+    // ------------------------------------------
+    public static String resolve(String browser) {
+        return resolved.computeIfAbsent(browser.toLowerCase(), DriverBinaryResolver::resolveOnce);
+    }
+
+    private static String resolveOnce(String browser) {
+        String systemProperty = systemPropertyFor(browser);
+
+        String preset = System.getProperty(systemProperty);
+        if (preset != null && Files.isExecutable(Paths.get(preset))) {
+            log.info("Using {} driver from -D{}: {}", browser, systemProperty, preset);
+            return preset;
+        }
+
+        Properties cache = loadCache();
+        String cachedPath = cache.getProperty(browser + ".path");
+        long resolvedAt = Long.parseLong(cache.getProperty(browser + ".resolvedAt", "0"));
+        boolean cachedUsable = cachedPath != null && Files.isExecutable(Paths.get(cachedPath));
+        boolean cacheFresh = System.currentTimeMillis() - resolvedAt < CACHE_TTL_MILLIS;
+
+        if (cachedUsable && cacheFresh) {
+            log.info("Using cached {} driver {}: {}", browser, cache.getProperty(browser + ".version"), cachedPath);
+            System.setProperty(systemProperty, cachedPath);
+            return cachedPath;
+        }
+
+        try {
+            WebDriverManager manager = managerFor(browser);
+            manager.setup();
+
+            String path = manager.getDownloadedDriverPath();
+            String version = manager.getDownloadedDriverVersion();
+            log.info("Resolved {} driver {}: {}", browser, version, path);
+
+            storeInCache(browser, path, version);
+            System.setProperty(systemProperty, path);
+            return path;
+
+        } catch (RuntimeException e) {
+            if (!cachedUsable) {
+                throw e;
+            }
+
+            // Stale but present beats nothing when running on an offline agent
+            log.warn("Driver resolution for {} failed, falling back to cached driver: {}", browser, cachedPath);
+            System.setProperty(systemProperty, cachedPath);
+            return cachedPath;
+        }
+    }
+
+    // ------------------------------------------
+    // Browser Mapping
+    // ------------------------------------------
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                throw new RuntimeException("Unsupported browser: " + browser);
+        }
+    }
+
+    private static String systemPropertyFor(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                throw new RuntimeException("Unsupported browser: " + browser);
+        }
+    }
+
+    // ------------------------------------------
+    // Cache File Helpers
+    // ------------------------------------------
+    private static synchronized Properties loadCache() {
+        Properties cache = new Properties();
+
+        if (Files.exists(CACHE_FILE)) {
+            try (InputStream input = Files.newInputStream(CACHE_FILE)) {
+                cache.load(input);
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable driver cache file: {}", CACHE_FILE, e);
+            }
+        }
+
+        return cache;
+    }
+
+    private static synchronized void storeInCache(String browser, String path, String version) {
+        Properties cache = loadCache();
+        cache.setProperty(browser + ".path", path);
+        cache.setProperty(browser + ".version", String.valueOf(version));
+        cache.setProperty(browser + ".resolvedAt", String.valueOf(System.currentTimeMillis()));
+
+        try {
+            if (CACHE_FILE.getParent() != null) {
+                Files.createDirectories(CACHE_FILE.getParent());
+            }
+            try (OutputStream output = Files.newOutputStream(CACHE_FILE)) {
+                cache.store(output, "Resolved WebDriver binaries");
+            }
+        } catch (IOException e) {
+            log.warn("Could not write driver cache file: {}", CACHE_FILE, e);
+        }
+    }
+
+}
@@ -0,0 +1,246 @@
+package base;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import utils.ConfigReader;
+import utils.TimingListener;
+import utils.Timings;
+
+public class DriverFactory {
+
+    private static final Logger log = LogManager.getLogger(DriverFactory.class);
+
+    public static final String DEFAULT_PROFILE = "default";
+    public static final String FAST_PROFILE = "fast";
+
+    // ------------------------------------------
+    // Fast Profile Settings
+    // ------------------------------------------
+    private static final List<String> FAST_CHROMIUM_ARGS = Arrays.asList(
+            "--disable-gpu",
+            "--disable-extensions",
+            "--disable-component-extensions-with-background-pages",
+            "--disable-background-networking",
+            "--disable-default-apps",
+            "--disable-sync",
+            "--disable-features=Translate,OptimizationHints,MediaRouter",
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--mute-audio",
+            "--blink-settings=imagesEnabled=false");
+
+    private static final List<String> BLOCKED_URL_PATTERNS = Arrays.asList(
+            "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.svg", "*.ico",
+            "*.woff", "*.woff2", "*.ttf", "*.otf");
+
+    // ------------------------------------------
+    // WebDriver Creation
+    // ------------------------------------------
+    public static WebDriver createDriver(String browser) {
+        return createDriver(browser, ConfigReader.getKey("browserProfile"));
+    }
+
+    public static WebDriver createDriver(String browser, String profile) {
+        return Timings.time("session.startup", () -> launch(browser, profile));
+    }
+
+    public static boolean isFastProfile() {
+        return FAST_PROFILE.equalsIgnoreCase(ConfigReader.getKey("browserProfile"));
+    }
+
+    private static WebDriver launch(String browser, String profile) {
+
+        boolean headless = ConfigReader.getBoolean("headless");
+        boolean maximize = ConfigReader.getBoolean("maximize");
+        boolean fast = FAST_PROFILE.equalsIgnoreCase(profile);
+
+        if (!fast && !DEFAULT_PROFILE.equalsIgnoreCase(profile)) {
+            throw new RuntimeException("Unsupported browser profile: " + profile);
+        }
+
+        WebDriver driver;
+
+        switch (browser.toLowerCase()) {
+
+            case "chrome":
+                Timings.time("session.resolveBinary", () -> DriverBinaryResolver.resolve(browser));
+                ChromeOptions chromeOptions = new ChromeOptions();
+                if (headless) {
+                    chromeOptions.addArguments("--headless=new");
+                }
+                chromeOptions.addArguments("--guest");
+                if (fast) {
+                    applyFastProfile(chromeOptions);
+                }
+                applyPageLoadStrategy(chromeOptions);
+                applyConsoleLogging(chromeOptions, ChromeOptions.LOGGING_PREFS);
+                driver = new ChromeDriver(chromeOptions);
+                break;
+
+            case "firefox":
+                Timings.time("session.resolveBinary", () -> DriverBinaryResolver.resolve(browser));
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                if (headless) {
+                    firefoxOptions.addArguments("--headless=new");
+                }
+                if (fast) {
+                    applyFastProfile(firefoxOptions);
+                }
+                applyPageLoadStrategy(firefoxOptions);
+                driver = new FirefoxDriver(firefoxOptions);
+                break;
+
+            case "edge":
+                Timings.time("session.resolveBinary", () -> DriverBinaryResolver.resolve(browser));
+                EdgeOptions edgeOptions = new EdgeOptions();
+                if (headless) {
+                    edgeOptions.addArguments("--headless=new");
+                }
+                if (fast) {
+                    applyFastProfile(edgeOptions);
+                }
+                applyPageLoadStrategy(edgeOptions);
+                applyConsoleLogging(edgeOptions, EdgeOptions.LOGGING_PREFS);
+                driver = new EdgeDriver(edgeOptions);
+                break;
+
+            default:
+                throw new RuntimeException("Unsupported browser: " + browser);
+        }
+
+        log.info("Launching browser: {} ({} profile)", browser, fast ? FAST_PROFILE : DEFAULT_PROFILE);
+
+        if (fast) {
+            // A fixed size skips the window-manager round trip and keeps layouts identical across runs
+            driver.manage().window().setSize(windowSize());
+            blockResources(driver);
+        } else if (maximize) {
+            driver.manage().window().maximize();
+        }
+
+        // Async waits in BasePage resolve on their own timers, which must fit inside this
+        driver.manage().timeouts().scriptTimeout(
+                Duration.ofSeconds(ConfigReader.getInt("explicitWait") + 5L));
+
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (Timings.isEnabled()) {
+            listeners.add(new TimingListener());
+        }
+
+        PageState pageState = ConfigReader.getBoolean("locatorCache") ? new PageState() : null;
+        if (pageState != null) {
+            listeners.add(pageState);
+        }
+
+        if (!listeners.isEmpty()) {
+            driver = new EventFiringDecorator<WebDriver>(listeners.toArray(new WebDriverListener[0])).decorate(driver);
+        }
+
+        if (pageState != null) {
+            PageState.register(driver, pageState);
+        }
+
+        return driver;
+    }
+
+    // Chromium only exposes the browser console through the logs endpoint when asked for it
+    private static void applyConsoleLogging(ChromiumOptions<?> options, String capability) {
+        if (ConfigReader.getBoolean("failureArtifacts")) {
+            LoggingPreferences logs = new LoggingPreferences();
+            logs.enable(LogType.BROWSER, Level.ALL);
+            options.setCapability(capability, logs);
+        }
+    }
+
+    // ------------------------------------------
+    // Fast Profile
+    // ------------------------------------------
+    // Eager page loads return at DOMContentLoaded; page objects already wait for the
+    // elements they need, so nothing relies on the full load event.
+    private static void applyFastProfile(ChromiumOptions<?> options) {
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        options.addArguments(FAST_CHROMIUM_ARGS);
+        options.addArguments("--window-size=" + windowSize().getWidth() + "," + windowSize().getHeight());
+
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.managed_default_content_settings.images", 2);
+        options.setExperimentalOption("prefs", prefs);
+    }
+
+    private static void applyFastProfile(FirefoxOptions options) {
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        options.addArguments("--width=" + windowSize().getWidth(), "--height=" + windowSize().getHeight());
+        options.addPreference("permissions.default.image", 2);
+        options.addPreference("gfx.downloadable_fonts.enabled", false);
+        options.addPreference("layers.acceleration.disabled", true);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("app.update.auto", false);
+        options.addPreference("network.prefetch-next", false);
+        options.addPreference("network.dns.disablePrefetch", true);
+        options.addPreference("browser.safebrowsing.malware.enabled", false);
+        options.addPreference("browser.safebrowsing.phishing.enabled", false);
+        options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+        options.addPreference("toolkit.telemetry.enabled", false);
+    }
+
+    // ------------------------------------------
+    // Page-Load Strategy
+    // ------------------------------------------
+    // eager/none let CdpNavigator decide when a page is ready instead of waiting for the load event
+    private static void applyPageLoadStrategy(AbstractDriverOptions<?> options) {
+        String strategy = ConfigReader.getKey("pageLoadStrategy", "");
+        if (!strategy.isEmpty()) {
+            options.setPageLoadStrategy(PageLoadStrategy.fromString(strategy));
+        }
+    }
+
+    // Chromium has no preference for web fonts, so images and fonts are refused at the network layer
+    private static void blockResources(WebDriver driver) {
+        if (!(driver instanceof ChromiumDriver)) {
+            return;
+        }
+
+        ChromiumDriver chromium = (ChromiumDriver) driver;
+        Map<String, Object> blocked = new HashMap<>();
+        blocked.put("urls", BLOCKED_URL_PATTERNS);
+
+        try {
+            chromium.executeCdpCommand("Network.enable", new HashMap<>());
+            chromium.executeCdpCommand("Network.setBlockedURLs", blocked);
+        } catch (RuntimeException e) {
+            log.warn("Could not block images and fonts over CDP; continuing without it", e);
+        }
+    }
+
+    private static Dimension windowSize() {
+        String[] size = ConfigReader.getKey("windowSize").toLowerCase().split("x");
+        if (size.length != 2) {
+            throw new RuntimeException("windowSize must look like 1366x768, was: " + ConfigReader.getKey("windowSize"));
+        }
+        return new Dimension(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+    }
+
+}
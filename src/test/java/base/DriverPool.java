@@ -0,0 +1,245 @@
+package base;
+
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utils.ConfigReader;
+
+public class DriverPool {
+
+    private static final Logger log = LogManager.getLogger(DriverPool.class);
+
+    // ------------------------------------------
+    // Pool Configuration
+    // ------------------------------------------
+    private static final int POOL_SIZE = ConfigReader.getInt("driverPoolSize");
+    private static final int MAX_REUSE = ConfigReader.getInt("driverPoolMaxReuse");
+    private static final int HEALTH_CHECK_TIMEOUT = ConfigReader.getInt("driverPoolHealthCheckTimeout");
+
+    // ------------------------------------------
+    // Pool State
+    // ------------------------------------------
+    // One pool per browser, so a cross-browser matrix never hands a firefox test a chrome session
+    private static final Map<String, BrowserPool> pools = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+
+    // Recreated on demand, so the pool keeps working if it is used again after shutdown()
+    private static ExecutorService housekeeper;
+
+    private static class BrowserPool {
+        private final String browser;
+        private final BlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+        private final Semaphore permits = new Semaphore(POOL_SIZE, true);
+
+        private BrowserPool(String browser) {
+            this.browser = browser;
+        }
+    }
+
+    private static class PooledDriver {
+        private final BrowserPool pool;
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledDriver(BrowserPool pool, WebDriver driver) {
+            this.pool = pool;
+            this.driver = driver;
+        }
+    }
+
+    // ------------------------------------------
+    // Lease Methods
+    // ------------------------------------------
+    public static WebDriver acquire(String browser, String baseUrl) {
+        BrowserPool pool = pools.computeIfAbsent(browser.toLowerCase(), BrowserPool::new);
+
+        try {
+            pool.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pooled browser session", e);
+        }
+
+        try {
+            PooledDriver pooled;
+            while ((pooled = pool.idle.pollFirst()) != null) {
+                if (isHealthy(pooled)) {
+                    log.info("Reusing pooled {} session (use {} of {})", pool.browser, pooled.uses + 1, MAX_REUSE);
+                    break;
+                }
+                log.warn("Evicting unhealthy pooled browser session");
+                discard(pooled);
+            }
+
+            if (pooled == null) {
+                log.info("Starting new pooled {} session ({} max)", pool.browser, POOL_SIZE);
+                pooled = new PooledDriver(pool, DriverFactory.createDriver(browser));
+                try {
+                    CdpNavigator.navigate(pooled.driver, baseUrl);
+                } catch (RuntimeException e) {
+                    discard(pooled);
+                    throw e;
+                }
+            }
+
+            leased.put(pooled.driver, pooled);
+            return pooled.driver;
+
+        } catch (RuntimeException e) {
+            pool.permits.release();
+            throw e;
+        }
+    }
+
+    public static void release(WebDriver driver, String baseUrl) {
+        PooledDriver pooled = leased.remove(driver);
+
+        if (pooled == null) {
+            log.warn("Released browser session was not leased from the pool, quitting it");
+            driver.quit();
+            return;
+        }
+
+        try {
+            pooled.uses++;
+
+            if (pooled.uses >= MAX_REUSE) {
+                log.info("Pooled browser session reached max reuse count ({}), retiring it", MAX_REUSE);
+                discard(pooled);
+            } else if (reset(pooled, baseUrl)) {
+                pooled.pool.idle.offerFirst(pooled);
+            } else {
+                log.warn("Failed to reset pooled browser session, evicting it");
+                discard(pooled);
+            }
+        } finally {
+            pooled.pool.permits.release();
+        }
+    }
+
+    // For a leased session that can't be used, e.g. because test setup failed after acquire():
+    // quits it instead of returning it to the idle queue, and frees its permit
+    public static void discard(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+
+        if (pooled == null) {
+            log.warn("Discarded browser session was not leased from the pool, quitting it");
+            driver.quit();
+            return;
+        }
+
+        try {
+            discard(pooled);
+        } finally {
+            pooled.pool.permits.release();
+        }
+    }
+
+    // ------------------------------------------
+    // Session Reset & Health Methods
+    // ------------------------------------------
+    private static boolean reset(PooledDriver pooled, String baseUrl) {
+        return runWithTimeout(() -> {
+            WebDriver driver = pooled.driver;
+            ((JavascriptExecutor) driver).executeScript(
+                    "window.localStorage.clear(); window.sessionStorage.clear();");
+            driver.manage().deleteAllCookies();
+            CdpNavigator.navigate(driver, baseUrl);
+        });
+    }
+
+    private static boolean isHealthy(PooledDriver pooled) {
+        return runWithTimeout(() -> pooled.driver.getWindowHandle());
+    }
+
+    private static boolean runWithTimeout(Runnable action) {
+        Future<?> future = housekeeper().submit(action);
+        try {
+            future.get(HEALTH_CHECK_TIMEOUT, TimeUnit.SECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return false;
+        } catch (Exception e) {
+            log.debug("Pooled browser session check failed", e);
+            future.cancel(true);
+            return false;
+        }
+    }
+
+    private static void discard(PooledDriver pooled) {
+        // Quitting a hung session can block, so never do it on the test thread
+        housekeeper().submit(() -> quietlyQuit(pooled));
+    }
+
+    private static void quietlyQuit(PooledDriver pooled) {
+        try {
+            pooled.driver.quit();
+        } catch (Exception e) {
+            log.debug("Ignoring failure while quitting pooled browser session", e);
+        }
+    }
+
+    private static synchronized ExecutorService housekeeper() {
+        if (housekeeper == null || housekeeper.isShutdown()) {
+            housekeeper = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "driver-pool-housekeeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return housekeeper;
+    }
+
+    // ------------------------------------------
+    // Shutdown
+    // ------------------------------------------
+    // Quits idle and still-leased sessions alike; safe to call more than once
+    public static void shutdown() {
+        for (BrowserPool pool : pools.values()) {
+            log.info("Shutting down {} driver pool ({} idle session(s))", pool.browser, pool.idle.size());
+
+            PooledDriver pooled;
+            while ((pooled = pool.idle.pollFirst()) != null) {
+                quietlyQuit(pooled);
+            }
+        }
+
+        for (WebDriver driver : leased.keySet()) {
+            PooledDriver pooled = leased.remove(driver);
+            if (pooled != null) {
+                log.warn("Quitting {} session that was never released to the pool", pooled.pool.browser);
+                quietlyQuit(pooled);
+                pooled.pool.permits.release();
+            }
+        }
+
+        ExecutorService current;
+        synchronized (DriverPool.class) {
+            current = housekeeper;
+            housekeeper = null;
+        }
+        if (current == null) {
+            return;
+        }
+
+        current.shutdown();
+        try {
+            current.awaitTermination(HEALTH_CHECK_TIMEOUT * 2L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package base;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+public class ItemIndex {
+
+    private static final Logger log = LogManager.getLogger(ItemIndex.class);
+
+    // Maps each item's name to its button in a single round trip
+    private static final String BUILD_INDEX_SCRIPT = PageState.readOnlyScript(
+            "var itemSelector = arguments[0], nameSelector = arguments[1], buttonSelector = arguments[2];"
+          + "var index = {};"
+          + "Array.prototype.forEach.call(document.querySelectorAll(itemSelector), function (item) {"
+          + "  var name = item.querySelector(nameSelector);"
+          + "  var button = item.querySelector(buttonSelector);"
+          + "  if (name && button) { index[name.innerText.trim()] = button; }"
+          + "});"
+          + "return index;");
+
+    // Resolves every requested button first, then clicks them, so re-renders
+    // triggered by one click cannot shift the lookup of the next
+    private static final String CLICK_BY_NAME_SCRIPT =
+            "var itemSelector = arguments[0], nameSelector = arguments[1], buttonSelector = arguments[2];"
+          + "var wanted = arguments[3], targets = [];"
+          + "Array.prototype.forEach.call(document.querySelectorAll(itemSelector), function (item) {"
+          + "  var name = item.querySelector(nameSelector);"
+          + "  var button = item.querySelector(buttonSelector);"
+          + "  if (name && button && wanted.indexOf(name.innerText.trim()) !== -1) {"
+          + "    targets.push({ name: name.innerText.trim(), button: button });"
+          + "  }"
+          + "});"
+          + "targets.forEach(function (target) { target.button.click(); });"
+          + "return targets.map(function (target) { return target.name; });";
+
+    private final WebDriver driver;
+    private final String itemSelector;
+    private final String nameSelector;
+    private final String buttonSelector;
+
+    private Map<String, WebElement> buttons;
+
+    // ------------------------------------------
+    // Constructor
+    // ------------------------------------------
+    public ItemIndex(WebDriver driver, String itemSelector, String nameSelector, String buttonSelector) {
+        this.driver = driver;
+        this.itemSelector = itemSelector;
+        this.nameSelector = nameSelector;
+        this.buttonSelector = buttonSelector;
+    }
+
+    // ------------------------------------------
+    // Click Methods
+    // ------------------------------------------
+    public boolean click(String name) {
+        WebElement button = lookup(name);
+
+        if (button == null) {
+            log.warn("No item named '{}' found for {}", name, itemSelector);
+            return false;
+        }
+
+        try {
+            button.click();
+        } catch (StaleElementReferenceException e) {
+            // The DOM changed since the index was built; rebuild it once and retry
+            invalidate();
+            button = lookup(name);
+            if (button == null) {
+                log.warn("Item '{}' disappeared from {}", name, itemSelector);
+                return false;
+            }
+            button.click();
+        }
+
+        return true;
+    }
+
+    public List<String> clickAll(Collection<String> names) {
+        List<String> clicked = new ArrayList<>();
+
+        for (String name : names) {
+            if (click(name)) {
+                clicked.add(name);
+            }
+        }
+
+        return clicked;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> clickAllInBrowser(Collection<String> names) {
+        List<String> clicked = (List<String>) ((JavascriptExecutor) driver).executeScript(
+                CLICK_BY_NAME_SCRIPT, itemSelector, nameSelector, buttonSelector, new ArrayList<>(names));
+
+        invalidate();
+        return clicked;
+    }
+
+    // ------------------------------------------
+    // Index Maintenance
+    // ------------------------------------------
+    public void invalidate() {
+        buttons = null;
+    }
+
+    private WebElement lookup(String name) {
+        if (buttons == null) {
+            buttons = build();
+        } else if (!buttons.containsKey(name)) {
+            // The item may have been rendered after the index was built
+            buttons = build();
+        }
+
+        return buttons.get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, WebElement> build() {
+        Map<String, WebElement> index = new LinkedHashMap<>((Map<String, WebElement>)
+                ((JavascriptExecutor) driver).executeScript(
+                        BUILD_INDEX_SCRIPT, itemSelector, nameSelector, buttonSelector));
+
+        log.debug("Indexed {} item(s) for {}", index.size(), itemSelector);
+        return index;
+    }
+
+}
@@ -0,0 +1,119 @@
+package base;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import io.qameta.allure.Allure;
+import utils.PerfBudget;
+import utils.Timings;
+
+public class PageMetrics {
+
+    // Buffered observers hand back entries recorded before they were created, so this can run
+    // at any point after navigation. Browsers without an entry type just leave it out.
+    private static final String METRICS_SCRIPT = PageState.readOnlyScript(
+            "function buffered(type) {"
+          + "  try {"
+          + "    var observer = new PerformanceObserver(function () {});"
+          + "    observer.observe({ type: type, buffered: true });"
+          + "    var entries = observer.takeRecords();"
+          + "    observer.disconnect();"
+          + "    return entries;"
+          + "  } catch (e) { return null; }"
+          + "}"
+          + "var result = { url: location.href };"
+          + "var nav = performance.getEntriesByType('navigation')[0];"
+          + "if (nav) {"
+          + "  result.navigationType = nav.type;"
+          + "  result.ttfb = nav.responseStart;"
+          + "  result.domContentLoaded = nav.domContentLoadedEventEnd;"
+          + "  result.load = nav.loadEventEnd;"
+          + "  result.transferSize = nav.transferSize;"
+          + "}"
+          + "performance.getEntriesByType('paint').forEach(function (p) {"
+          + "  result[p.name === 'first-paint' ? 'firstPaint' : 'firstContentfulPaint'] = p.startTime;"
+          + "});"
+          + "var lcp = buffered('largest-contentful-paint');"
+          + "if (lcp && lcp.length) { result.largestContentfulPaint = lcp[lcp.length - 1].startTime; }"
+          + "var shifts = buffered('layout-shift');"
+          + "if (shifts) {"
+          + "  result.cumulativeLayoutShift = shifts.reduce(function (sum, s) {"
+          + "    return s.hadRecentInput ? sum : sum + s.value; }, 0);"
+          + "}"
+          + "var tasks = buffered('longtask');"
+          + "if (tasks) {"
+          + "  result.longTaskCount = tasks.length;"
+          + "  result.longTaskTotal = tasks.reduce(function (sum, t) { return sum + t.duration; }, 0);"
+          + "  result.longTaskMax = tasks.reduce(function (max, t) { return Math.max(max, t.duration); }, 0);"
+          + "}"
+          + "return result;");
+
+    // Millisecond figures that also feed the suite timing report as vitals.<page>.<metric>
+    private static final String[] TIMED_METRICS = {
+        "ttfb", "domContentLoaded", "load", "firstPaint", "firstContentfulPaint",
+        "largestContentfulPaint", "longTaskTotal", "longTaskMax"
+    };
+
+    private final String page;
+    private final Map<String, Object> values;
+
+    private PageMetrics(String page, Map<String, Object> values) {
+        this.page = page;
+        this.values = values;
+    }
+
+    // ------------------------------------------
+    // Capture
+    // ------------------------------------------
+    // SauceDemo routes client-side after the first load, so navigation and paint entries describe
+    // the document load; long tasks, layout shifts and LCP keep accumulating across route changes.
+    @SuppressWarnings("unchecked")
+    public static PageMetrics capture(WebDriver driver, String page) {
+        Map<String, Object> values = new LinkedHashMap<>(
+                (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(METRICS_SCRIPT));
+        return new PageMetrics(page, values);
+    }
+
+    // Adds the figures to the test's Allure report, the suite timing report and the perf-metrics file
+    public PageMetrics record() {
+        for (String metric : TIMED_METRICS) {
+            Double millis = getMillis(metric);
+            if (millis != null) {
+                Timings.record("vitals." + page + "." + metric, (long) (millis * 1_000_000));
+            }
+        }
+
+        Allure.addAttachment("Page metrics: " + page, "application/json", new Json().toJson(toMap()), ".json");
+        PerfBudget.report(toMap());
+        return this;
+    }
+
+    // ------------------------------------------
+    // Accessors
+    // ------------------------------------------
+    public String getPage() {
+        return page;
+    }
+
+    // null when the browser does not report the metric
+    public Double getMillis(String metric) {
+        Object value = values.get(metric);
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("kind", "page");
+        map.put("page", page);
+        map.putAll(values);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return page + " " + values;
+    }
+
+}
@@ -0,0 +1,86 @@
+package base;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+public class PageState implements WebDriverListener {
+
+    // Anything that can change the DOM or the document being looked at
+    private static final Set<String> MUTATING_CALLS = new HashSet<>(Arrays.asList(
+            "click", "submit", "sendKeys", "clear",
+            "get", "to", "back", "forward", "refresh",
+            "executeScript", "executeAsyncScript",
+            "frame", "parentFrame", "defaultContent", "window", "newWindow",
+            "accept", "dismiss", "close",
+            "addCookie", "deleteCookie", "deleteCookieNamed", "deleteAllCookies"));
+
+    // Framework scripts that only read the page (waits, bulk reads, metrics). Running one keeps
+    // cached elements; any other script is assumed to change the DOM.
+    private static final Set<String> READ_ONLY_SCRIPTS = ConcurrentHashMap.newKeySet();
+
+    private static final Map<WebDriver, PageState> states = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong generation = new AtomicLong();
+
+    // ------------------------------------------
+    // Registry
+    // ------------------------------------------
+    public static void register(WebDriver driver, PageState state) {
+        states.put(driver, state);
+    }
+
+    // null when the driver was created without locator caching
+    public static PageState of(WebDriver driver) {
+        return states.get(driver);
+    }
+
+    // Wrap a script constant in this to mark it read-only
+    public static String readOnlyScript(String script) {
+        READ_ONLY_SCRIPTS.add(script);
+        return script;
+    }
+
+    // ------------------------------------------
+    // Generation Tracking
+    // ------------------------------------------
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    // Bumped before and after, so a lookup racing an in-flight action is never reused
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (mutates(method, args)) {
+            generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (mutates(method, args)) {
+            generation.incrementAndGet();
+        }
+    }
+
+    private static boolean mutates(Method method, Object[] args) {
+        if (!MUTATING_CALLS.contains(method.getName())) {
+            return false;
+        }
+        boolean script = method.getName().startsWith("execute");
+        return !(script && args != null && args.length > 0 && READ_ONLY_SCRIPTS.contains(args[0]));
+    }
+
+}
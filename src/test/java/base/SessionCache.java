@@ -0,0 +1,66 @@
+package base;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import io.qameta.allure.Allure;
+
+public class SessionCache {
+
+    private static final Logger log = LogManager.getLogger(SessionCache.class);
+
+    private static final Map<String, BrowserState> sessions = new ConcurrentHashMap<>();
+
+    // ------------------------------------------
+    // Login Methods
+    // ------------------------------------------
+    public static void login(TestContext context, String username, String password) {
+        BrowserState state = sessions.get(username);
+
+        if (state != null && state.isExpired()) {
+            log.info("Cached session for {} has expired, logging in through the UI", username);
+            sessions.remove(username, state);
+            state = null;
+        }
+
+        if (state != null) {
+            if (inject(context.getDriver(), state)) {
+                log.info("Restored cached session for user: {}", username);
+                return;
+            }
+
+            log.warn("Cached session for {} was rejected, logging in through the UI", username);
+            sessions.remove(username, state);
+        }
+
+        context.getLoginPage().login(username, password);
+        context.getInventoryPage().waitForInventoryPage();
+
+        sessions.put(username, BrowserState.capture(context.getDriver()));
+        log.info("Cached session for user: {}", username);
+    }
+
+    public static void clear() {
+        sessions.clear();
+    }
+
+    // ------------------------------------------
+    // Injection Helpers
+    // ------------------------------------------
+    private static boolean inject(WebDriver driver, BrowserState state) {
+        state.restore(driver);
+
+        String inventoryUrl = URI.create(BaseTest.getBaseUrl()).resolve("inventory.html").toString();
+        CdpNavigator.NavigationResult navigation = CdpNavigator.navigate(driver, inventoryUrl);
+
+        if (!navigation.getRequests().isEmpty()) {
+            Allure.addAttachment("Network timings: inventory.html", "text/csv", navigation.toCsv(), ".csv");
+        }
+
+        return driver.getCurrentUrl().contains("inventory");
+    }
+
+}
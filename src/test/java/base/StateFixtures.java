@@ -0,0 +1,112 @@
+package base;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utils.ConfigReader;
+
+public class StateFixtures {
+
+    private static final Logger log = LogManager.getLogger(StateFixtures.class);
+
+    // Bundles are content-hashed on the live site (main.<hash>.js), so their URLs change with each release
+    private static final String ASSET_FINGERPRINT_SCRIPT = PageState.readOnlyScript(
+            "var urls = [];"
+          + "Array.prototype.forEach.call(document.scripts, function (s) { if (s.src) { urls.push(s.src); } });"
+          + "Array.prototype.forEach.call(document.querySelectorAll('link[rel=stylesheet]'),"
+          + "  function (l) { urls.push(l.href); });"
+          + "return urls.join('|');");
+
+    private static final Map<String, BrowserState> fixtures = new ConcurrentHashMap<>();
+
+    private static volatile String lastAppVersion;
+
+    // ------------------------------------------
+    // Fixture Methods
+    // ------------------------------------------
+    // Restores the state left behind by `steps` for `username` if it was recorded before;
+    // otherwise runs `replay` through the UI once and records the result for later tests.
+    public static void apply(TestContext context, String username, List<String> steps, Runnable replay) {
+        WebDriver driver = context.getDriver();
+        String key = username + "|" + String.join(">", steps) + "|" + appVersion(driver);
+
+        BrowserState state = fixtures.get(key);
+
+        if (state != null && state.isExpired()) {
+            log.info("State fixture {} has expired cookies, replaying it", key);
+            fixtures.remove(key, state);
+            state = null;
+        }
+
+        if (state != null) {
+            if (restore(driver, state)) {
+                log.info("Restored state fixture {}", key);
+                return;
+            }
+
+            log.warn("State fixture {} was rejected by the application, replaying it", key);
+            fixtures.remove(key, state);
+        }
+
+        replay.run();
+
+        fixtures.put(key, BrowserState.capture(driver));
+        log.info("Recorded state fixture {}", key);
+    }
+
+    public static void clear() {
+        fixtures.clear();
+    }
+
+    // ------------------------------------------
+    // Helpers
+    // ------------------------------------------
+    private static boolean restore(WebDriver driver, BrowserState state) {
+        state.restore(driver);
+        CdpNavigator.navigate(driver, state.getUrl());
+
+        // SauceDemo bounces unauthenticated visits back to the login page
+        return URI.create(driver.getCurrentUrl()).getPath().equals(URI.create(state.getUrl()).getPath());
+    }
+
+    // appVersion in config wins; otherwise the fingerprint of the page's script and style URLs.
+    // Checked on every use so a deploy during a long run drops fixtures recorded against the old build.
+    private static String appVersion(WebDriver driver) {
+        String configured = ConfigReader.getKey("appVersion", "");
+        String version = configured.isEmpty()
+                ? fingerprint(String.valueOf(((JavascriptExecutor) driver).executeScript(ASSET_FINGERPRINT_SCRIPT)))
+                : configured;
+
+        if (!version.equals(lastAppVersion)) {
+            if (lastAppVersion != null) {
+                log.info("Application version changed from {} to {}, dropping {} state fixture(s)",
+                        lastAppVersion, version, fixtures.size());
+                fixtures.clear();
+            }
+            lastAppVersion = version;
+        }
+        return version;
+    }
+
+    private static String fingerprint(String assets) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(assets.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 6; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+    }
+
+}
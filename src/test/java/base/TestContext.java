@@ -0,0 +1,99 @@
+package base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import pages.CartPage;
+import pages.CheckoutCompletePage;
+import pages.CheckoutInfoPage;
+import pages.CheckoutOverviewPage;
+import pages.InventoryPage;
+import pages.LoginPage;
+
+public class TestContext {
+
+    // ------------------------------------------
+    // WebDriver & Utilities
+    // ------------------------------------------
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final JavascriptExecutor js;
+
+    // ------------------------------------------
+    // Page Objects
+    // ------------------------------------------
+    // Created on first use; a context belongs to one test thread, so no locking is needed
+    private LoginPage loginPage;
+    private InventoryPage inventoryPage;
+    private CartPage cartPage;
+    private CheckoutInfoPage checkoutInfoPage;
+    private CheckoutOverviewPage checkoutOverviewPage;
+    private CheckoutCompletePage checkoutCompletePage;
+
+    // ------------------------------------------
+    // Constructor
+    // ------------------------------------------
+    public TestContext(WebDriver driver, WebDriverWait wait) {
+        this.driver = driver;
+        this.wait = wait;
+        this.js = (JavascriptExecutor) driver;
+    }
+
+    // ------------------------------------------
+    // Accessors
+    // ------------------------------------------
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public WebDriverWait getWait() {
+        return wait;
+    }
+
+    public JavascriptExecutor getJs() {
+        return js;
+    }
+
+    public LoginPage getLoginPage() {
+        if (loginPage == null) {
+            loginPage = new LoginPage(this);
+        }
+        return loginPage;
+    }
+
+    public InventoryPage getInventoryPage() {
+        if (inventoryPage == null) {
+            inventoryPage = new InventoryPage(this);
+        }
+        return inventoryPage;
+    }
+
+    public CartPage getCartPage() {
+        if (cartPage == null) {
+            cartPage = new CartPage(this);
+        }
+        return cartPage;
+    }
+
+    public CheckoutInfoPage getCheckoutInfoPage() {
+        if (checkoutInfoPage == null) {
+            checkoutInfoPage = new CheckoutInfoPage(this);
+        }
+        return checkoutInfoPage;
+    }
+
+    public CheckoutOverviewPage getCheckoutOverviewPage() {
+        if (checkoutOverviewPage == null) {
+            checkoutOverviewPage = new CheckoutOverviewPage(this);
+        }
+        return checkoutOverviewPage;
+    }
+
+    public CheckoutCompletePage getCheckoutCompletePage() {
+        if (checkoutCompletePage == null) {
+            checkoutCompletePage = new CheckoutCompletePage(this);
+        }
+        return checkoutCompletePage;
+    }
+
+}
@@ -2,20 +2,20 @@ package pages;
 
 import java.util.ArrayList;
 import java.util.List;
-import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import base.BasePage;
+import base.ItemIndex;
+import base.TestContext;
+import utils.ConfigReader;
 
 public class CartPage extends BasePage {
 
     // ------------------------------------------
     // Constructor & PageFactory Initialization
     // ------------------------------------------
-    public CartPage(WebDriver driver, WebDriverWait wait) {
-        super(driver, wait);
+    public CartPage(TestContext context) {
+        super(context);
     }
 
     // ------------------------------------------
@@ -33,62 +33,69 @@ public class CartPage extends BasePage {
     @FindBy(name = "checkout")
     private WebElement checkoutButton;
 
+    private final ItemIndex itemIndex =
+            new ItemIndex(driver, ".cart_item", ".inventory_item_name", "button");
+
     // ------------------------------------------
     // Cart Item Methods
     // ------------------------------------------
     public int getCartItemCount() {
-        int cartItemCount = cartItems.size();
-        log.info("Fetching cart item count: {}", cartItemCount);
-        return cartItemCount;
+        return step("getCartItemCount", () -> {
+            int cartItemCount = cartItems.size();
+            log.info("Fetching cart item count: {}", cartItemCount);
+            return cartItemCount;
+        });
     }
 
     public List<String> getCartItemNames() {
-        log.info("Retrieving product names from cart");
+        return step("getCartItemNames", () -> {
+            log.info("Retrieving product names from cart");
 
-        List<String> items = new ArrayList<>();
-        for (WebElement name : cartItemNames) {
-            String itemName = name.getText();
-            items.add(itemName);
-        }
+            List<String> items = new ArrayList<>();
+            for (WebElement name : cartItemNames) {
+                String itemName = name.getText();
+                items.add(itemName);
+            }
 
-        log.info("Retrieved {} product(s) from cart: {}", items.size(), items);
-        return items;
+            log.info("Retrieved {} product(s) from cart", items.size());
+            log.debug("Cart items: {}", () -> String.join(", ", items));
+            return items;
+        });
     }
 
     // ------------------------------------------
     // Remove Item Methods
     // ------------------------------------------
     public void removeFirstItemFromCart() {
-        if (removeButtons.isEmpty()) {
-            log.warn("No items to remove from cart");
-            return;
-        }
+        step("removeFirstItemFromCart", () -> {
+            if (removeButtons.isEmpty()) {
+                log.warn("No items to remove from cart");
+                return;
+            }
 
-        log.info("Removing first item from cart");
-        removeButtons.get(0).click();
+            log.info("Removing first item from cart");
+            click(removeButtons.get(0));
+        });
     }
 
     public void removeItemsFromCartByName(List<String> productNames) {
-        for (String name : productNames) {
-            for (WebElement item : cartItems) {
-                String itemName =
-                        item.findElement(By.className("inventory_item_name")).getText();
-
-                if (name.equals(itemName)) {
-                    WebElement button = item.findElement(By.tagName("button"));
-                    button.click();
-                    log.info("Removed {} from cart", name);
-                }
-            }
-        }
+        step("removeItemsFromCartByName", () -> {
+            List<String> removed = ConfigReader.getBoolean("batchScriptClicks")
+                    ? itemIndex.clickAllInBrowser(productNames)
+                    : itemIndex.clickAll(productNames);
+
+            log.info("Removed {} from cart", removed);
+        });
     }
 
     // ------------------------------------------
     // Navigation Methods
     // ------------------------------------------
     public void goToCheckout() {
-        log.info("Proceeding to checkout");
-        checkoutButton.click();
+        step("goToCheckout", () -> {
+            log.info("Proceeding to checkout");
+            clickAndSettle(checkoutButton);
+        });
     }
 
 }
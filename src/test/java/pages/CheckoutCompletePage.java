@@ -1,18 +1,17 @@
 package pages;
 
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import base.BasePage;
+import base.TestContext;
 
 public class CheckoutCompletePage extends BasePage {
 
     // ------------------------------------------
     // Constructor & PageFactory Initialization
     // ------------------------------------------
-    public CheckoutCompletePage(WebDriver driver, WebDriverWait wait) {
-        super(driver, wait);
+    public CheckoutCompletePage(TestContext context) {
+        super(context);
     }
 
     // ------------------------------------------
@@ -25,7 +24,7 @@ public class CheckoutCompletePage extends BasePage {
     // Page Data Methods
     // ------------------------------------------
     public String getCompleteHeaderText() {
-        return completeHeader.getText();
+        return step("getCompleteHeaderText", () -> getText(completeHeader));
     }
 
 }
@@ -1,18 +1,17 @@
 package pages;
 
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import base.BasePage;
+import base.TestContext;
 
 public class CheckoutInfoPage extends BasePage {
 
     // ------------------------------------------
     // Constructor & PageFactory Initialization
     // ------------------------------------------
-    public CheckoutInfoPage(WebDriver driver, WebDriverWait wait) {
-        super(driver, wait);
+    public CheckoutInfoPage(TestContext context) {
+        super(context);
     }
 
     // ------------------------------------------
@@ -37,35 +36,39 @@ public class CheckoutInfoPage extends BasePage {
     // Form Input Methods
     // ------------------------------------------
     public void enterFirstName(String firstName) {
-        firstNameInput.sendKeys(firstName);
+        step("enterFirstName", () -> type(firstNameInput, firstName));
     }
 
     public void enterLastName(String lastName) {
-        lastNameInput.sendKeys(lastName);
+        step("enterLastName", () -> type(lastNameInput, lastName));
     }
 
     public void enterZipCode(String zipCode) {
-        zipInput.sendKeys(zipCode);
+        step("enterZipCode", () -> type(zipInput, zipCode));
     }
 
     public void fillOutForm(String firstName, String lastName, String zipCode) {
-        enterFirstName(firstName);
-        enterLastName(lastName);
-        enterZipCode(zipCode);
-        log.info("Entering checkout information: {} {} {}", firstName, lastName, zipCode);
+        step("fillOutForm", () -> {
+            enterFirstName(firstName);
+            enterLastName(lastName);
+            enterZipCode(zipCode);
+            log.info("Entering checkout information: {} {} {}", firstName, lastName, zipCode);
+        });
     }
 
     // ------------------------------------------
     // Navigation Methods
     // ------------------------------------------
     public void clickContinue() {
-        log.info("Continuing checkout");
-        continueButton.click();
+        step("clickContinue", () -> {
+            log.info("Continuing checkout");
+            clickAndSettle(continueButton);
+        });
     }
     
     
     public String getErrorMessageText() {
-    	return errorMessage.getText();
+        return step("getErrorMessageText", () -> getText(errorMessage));
     }
 
 }
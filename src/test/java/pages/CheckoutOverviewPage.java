@@ -1,19 +1,18 @@
 package pages;
 
 import java.util.List;
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import base.BasePage;
+import base.TestContext;
 
 public class CheckoutOverviewPage extends BasePage {
 
     // ------------------------------------------
     // Constructor & PageFactory Initialization
     // ------------------------------------------
-    public CheckoutOverviewPage(WebDriver driver, WebDriverWait wait) {
-        super(driver, wait);
+    public CheckoutOverviewPage(TestContext context) {
+        super(context);
     }
 
     // ------------------------------------------
@@ -29,17 +28,21 @@ public class CheckoutOverviewPage extends BasePage {
     // Overview Data Methods
     // ------------------------------------------
     public int getOverviewItemCount() {
-        int overviewItemCount = cartItems.size();
-        log.info("Fetching cart item count: {}", overviewItemCount);
-        return overviewItemCount;
+        return step("getOverviewItemCount", () -> {
+            int overviewItemCount = cartItems.size();
+            log.info("Fetching cart item count: {}", overviewItemCount);
+            return overviewItemCount;
+        });
     }
 
     // ------------------------------------------
     // Navigation Methods
     // ------------------------------------------
     public void clickFinish() {
-        log.info("Clicking Finish on checkout overview");
-        finishButton.click();
+        step("clickFinish", () -> {
+            log.info("Clicking Finish on checkout overview");
+            clickAndSettle(finishButton);
+        });
     }
 
 }
\ No newline at end of file
@@ -2,22 +2,39 @@ package pages;
 
 import java.util.ArrayList;
 import java.util.List;
-import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriver;
+import java.util.Map;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import base.BasePage;
+import base.ItemIndex;
+import base.PageState;
+import base.TestContext;
+import utils.ConfigReader;
 
 public class InventoryPage extends BasePage {
 
+    // Reads every inventory item in one round trip instead of one getText() per element
+    private static final String PRODUCT_DATA_SCRIPT = PageState.readOnlyScript(
+            "function text(item, selector) {"
+          + "  var element = item.querySelector(selector);"
+          + "  return element ? element.innerText.trim() : '';"
+          + "}"
+          + "return Array.prototype.map.call(document.querySelectorAll('.inventory_item'), function (item) {"
+          + "  return {"
+          + "    name: text(item, '.inventory_item_name'),"
+          + "    price: text(item, '.inventory_item_price'),"
+          + "    description: text(item, '.inventory_item_desc'),"
+          + "    button: text(item, 'button')"
+          + "  };"
+          + "});");
+
     // ------------------------------------------
     // Constructor & PageFactory Initialization
     // ------------------------------------------
-    public InventoryPage(WebDriver driver, WebDriverWait wait) {
-        super(driver, wait);
+    public InventoryPage(TestContext context) {
+        super(context);
     }
 
     // ------------------------------------------
@@ -44,118 +61,142 @@ public class InventoryPage extends BasePage {
     @FindBy(xpath = "//a[@class='shopping_cart_link']")
     private WebElement shoppingCartLink;
 
+    private final ItemIndex itemIndex =
+            new ItemIndex(driver, ".inventory_item", ".inventory_item_name", "button");
+
     // ------------------------------------------
     // Page Load / State Methods
     // ------------------------------------------
     public void waitForInventoryPage() {
-        log.info("Waiting for inventory page to load");
-        waitForVisibility(inventoryContainer);
-        log.info("Inventory page loaded successfully");
+        step("waitForInventoryPage", () -> {
+            log.info("Waiting for inventory page to load");
+            waitForSelector("#inventory_container", true, DEFAULT_TIMEOUT);
+            log.info("Inventory page loaded successfully");
+        });
     }
 
     // ------------------------------------------
     // Product Data Methods
     // ------------------------------------------
     public int getProductCount() {
-        int count = inventoryItems.size();
-        log.info("Total products displayed: {}", count);
-        return count;
+        return step("getProductCount", () -> {
+            int count = inventoryItems.size();
+            log.info("Total products displayed: {}", count);
+            return count;
+        });
     }
 
-    public List<String> getProductInfo(
-            List<String> stringList,
-            List<WebElement> elementList) {
-
-        stringList = new ArrayList<>();
-
-        for (WebElement element : elementList) {
-            String text = element.getText().trim();
-            if (!text.isEmpty()) {
-                stringList.add(text);
+    @SuppressWarnings("unchecked")
+    public List<Product> getProducts() {
+        return step("getProducts", () -> {
+            List<Map<String, Object>> rows = (List<Map<String, Object>>)
+                    ((JavascriptExecutor) driver).executeScript(PRODUCT_DATA_SCRIPT);
+
+            List<Product> products = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                products.add(new Product(
+                        (String) row.get("name"),
+                        parsePrice((String) row.get("price")),
+                        (String) row.get("description"),
+                        (String) row.get("button")));
             }
-        }
 
-        log.info("Fetched product names: {}", stringList);
-        return stringList;
+            log.info("Fetched {} product(s)", products.size());
+            log.debug("Fetched products: {}", () -> products);
+            return products;
+        });
     }
 
     public List<String> getProductNames() {
-        List<String> names = new ArrayList<>();
-        return getProductInfo(names, productNames);
+        return step("getProductNames", () -> {
+            List<String> names = new ArrayList<>();
+
+            for (Product product : getProducts()) {
+                if (!product.getName().isEmpty()) {
+                    names.add(product.getName());
+                }
+            }
+
+            log.info("Fetched {} product name(s)", names.size());
+            log.debug("Fetched product names: {}", () -> String.join(", ", names));
+            return names;
+        });
     }
 
     public List<Double> getProductPrices() {
-        List<Double> prices = new ArrayList<>();
+        return step("getProductPrices", () -> {
+            List<Double> prices = new ArrayList<>();
+
+            for (Product product : getProducts()) {
+                prices.add(product.getPrice());
+            }
 
-        for (WebElement price : productPrices) {
-            String priceText = price.getText().trim().replace("$", "");
-            Double productPrice = Double.parseDouble(priceText);
-            prices.add(productPrice);
-        }
+            log.info("Fetched {} product price(s)", prices.size());
+            log.debug("Fetched product prices: {}", () -> prices);
+            return prices;
+        });
+    }
 
-        log.info("Fetched product prices: {}", prices);
-        return prices;
+    private double parsePrice(String priceText) {
+        return Double.parseDouble(priceText.trim().replace("$", ""));
     }
 
     // ------------------------------------------
     // Sorting Methods
     // ------------------------------------------
     public void sortByVisibleText(String option) {
-        new Select(sortDropdown).selectByVisibleText(option);
+        step("sortByVisibleText", () -> {
+            new Select(sortDropdown).selectByVisibleText(option);
+            itemIndex.invalidate();
+        });
     }
 
     // ------------------------------------------
     // Cart Interaction Methods
     // ------------------------------------------
     public void addFirstItemToCart() {
-        log.info("Adding first product to cart");
-        addToCartButtons.get(0).click();
+        step("addFirstItemToCart", () -> {
+            log.info("Adding first product to cart");
+            click(addToCartButtons.get(0));
+        });
     }
 
     public void addItemToCartByName(String productName) {
-        for (WebElement item : inventoryItems) {
-            String itemName =
-                    item.findElement(By.className("inventory_item_name")).getText();
-
-            if (itemName.equals(productName)) {
-                WebElement addToCartButton = item.findElement(By.tagName("button"));
-                addToCartButton.click();
-                log.info("Added {} to cart", itemName);
+        step("addItemToCartByName", () -> {
+            if (itemIndex.click(productName)) {
+                log.info("Added {} to cart", productName);
             }
-        }
+        });
     }
 
     public void addItemsToCartByName(List<String> productNames) {
-        for (String productName : productNames) {
-            for (WebElement item : inventoryItems) {
-                String itemName =
-                        item.findElement(By.className("inventory_item_name")).getText();
-
-                if (itemName.equals(productName)) {
-                    WebElement addToCartButton = item.findElement(By.tagName("button"));
-                    addToCartButton.click();
-                    log.info("Added {} to cart", itemName);
-                }
-            }
-        }
+        step("addItemsToCartByName", () -> {
+            List<String> added = ConfigReader.getBoolean("batchScriptClicks")
+                    ? itemIndex.clickAllInBrowser(productNames)
+                    : itemIndex.clickAll(productNames);
+
+            log.info("Added {} to cart", added);
+        });
     }
 
     // ------------------------------------------
     // Cart Badge & Navigation Methods
     // ------------------------------------------
     public int getBadgeCount() {
-        log.info("Fetching badge count");
+        return step("getBadgeCount", () -> {
+            log.info("Fetching badge count");
 
-        WebElement shoppingCartBadge =
-                wait.until(ExpectedConditions.presenceOfElementLocated(
-                        By.xpath("//span[@class='shopping_cart_badge']")));
+            WebElement shoppingCartBadge = waitForSelector(".shopping_cart_badge", false, ACTION_TIMEOUT);
 
-        return Integer.parseInt(shoppingCartBadge.getText());
+            return Integer.parseInt(shoppingCartBadge.getText());
+        });
     }
 
     public void openCart() {
-        log.info("Navigating to cart");
-        shoppingCartLink.click();
+        step("openCart", () -> {
+            log.info("Navigating to cart");
+            clickAndSettle(shoppingCartLink);
+        });
     }
 
 }
\ No newline at end of file
@@ -1,18 +1,17 @@
 package pages;
 
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import base.BasePage;
+import base.TestContext;
 
 public class LoginPage extends BasePage {
 
     // ------------------------------------------
     // Constructor & PageFactory Initialization
     // ------------------------------------------
-    public LoginPage(WebDriver driver, WebDriverWait wait) {
-        super(driver, wait);
+    public LoginPage(TestContext context) {
+        super(context);
     }
 
     // ------------------------------------------
@@ -34,34 +33,44 @@ public class LoginPage extends BasePage {
     // Login Action Methods
     // ------------------------------------------
     public void enterUsername(String username) {
-        usernameInput.clear();
-        usernameInput.sendKeys(username);
+        step("enterUsername", () -> {
+            usernameInput.clear();
+            type(usernameInput, username);
+        });
     }
 
     public void enterPassword(String password) {
-        passwordInput.clear();
-        passwordInput.sendKeys(password);
+        step("enterPassword", () -> {
+            passwordInput.clear();
+            type(passwordInput, password);
+        });
     }
 
     public void clickLogin() {
-        log.info("Login button clicked");
-        loginButton.click();
+        step("clickLogin", () -> {
+            log.info("Login button clicked");
+            clickAndSettle(loginButton);
+        });
     }
 
     public void login(String username, String password) {
-        log.info("Attempting login with username: {}", username);
-        enterUsername(username);
-        enterPassword(password);
-        clickLogin();
+        step("login", () -> {
+            log.info("Attempting login with username: {}", username);
+            enterUsername(username);
+            enterPassword(password);
+            clickLogin();
+        });
     }
 
     // ------------------------------------------
     // Error Handling Methods
     // ------------------------------------------
     public String getErrorMessage() {
-        String error = errorMessage.getText();
-        log.warn("Login error message displayed: {}", error);
-        return error;
+        return step("getErrorMessage", () -> {
+            String error = getText(errorMessage);
+            log.warn("Login error message displayed: {}", error);
+            return error;
+        });
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package pages;
+
+public class Product {
+
+    private final String name;
+    private final double price;
+    private final String description;
+    private final String buttonText;
+
+    // ------------------------------------------
+    // Constructor
+    // ------------------------------------------
+    public Product(String name, double price, String description, String buttonText) {
+        this.name = name;
+        this.price = price;
+        this.description = description;
+        this.buttonText = buttonText;
+    }
+
+    // ------------------------------------------
+    // Accessors
+    // ------------------------------------------
+    public String getName() {
+        return name;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getButtonText() {
+        return buttonText;
+    }
+
+    public boolean isInCart() {
+        return "Remove".equalsIgnoreCase(buttonText);
+    }
+
+    @Override
+    public String toString() {
+        return name + " ($" + price + (isInCart() ? ", in cart" : "") + ")";
+    }
+
+}
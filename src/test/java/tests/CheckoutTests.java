@@ -1,5 +1,8 @@
 package tests;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
@@ -11,12 +14,16 @@ import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import io.qameta.allure.Story;
+import utils.DataSource;
 import utils.LoginTestDataReader;
 
 @Epic("Core Selenium Tests")
 @Feature("Checkout Module")
 public class CheckoutTests extends BaseTest {
 
+    private static final List<String> CHECKOUT_STEPS =
+            Arrays.asList("login", "addFirstItemToCart", "openCart", "goToCheckout");
+
     // ------------------------------------------
     // Test Setup
     // ------------------------------------------
@@ -25,15 +32,16 @@ public class CheckoutTests extends BaseTest {
     public void setupCheckout() {
         log.info("Logging in and preparing checkout state");
 
-        loginPage.login(
-            LoginTestDataReader.get("defaultProductUser"),
-            LoginTestDataReader.get("validPassword")
-        );
+        String username = LoginTestDataReader.get("defaultProductUser");
+
+        applyStateFixture(username, CHECKOUT_STEPS, () -> {
+            fastLogin(username, LoginTestDataReader.get("validPassword"));
 
-        inventoryPage.waitForInventoryPage();
-        inventoryPage.addFirstItemToCart();
-        inventoryPage.openCart();
-        cartPage.goToCheckout();
+            getInventoryPage().waitForInventoryPage();
+            getInventoryPage().addFirstItemToCart();
+            getInventoryPage().openCart();
+            getCartPage().goToCheckout();
+        });
     }
 
     // ------------------------------------------
@@ -51,23 +59,23 @@ public class CheckoutTests extends BaseTest {
         log.info("===== START TEST: verifyCompleteCheckoutFlow =====");
 
         // Fill out checkout information
-        checkoutInfoPage.fillOutForm(firstName, lastName, zip);
+        getCheckoutInfoPage().fillOutForm(firstName, lastName, zip);
 
         // Continue to overview page
-        checkoutInfoPage.clickContinue();
+        getCheckoutInfoPage().clickContinue();
 
         // Verify item appears on overview page
         Assert.assertTrue(
-            checkoutOverviewPage.getOverviewItemCount() > 0,
+            getCheckoutOverviewPage().getOverviewItemCount() > 0,
             "No items displayed on checkout overview page"
         );
 
         // Finish checkout
-        checkoutOverviewPage.clickFinish();
+        getCheckoutOverviewPage().clickFinish();
 
         // Verify final confirmation message
         Assert.assertEquals(
-            checkoutCompletePage.getCompleteHeaderText(),
+            getCheckoutCompletePage().getCompleteHeaderText(),
             "Thank you for your order!",
             "Checkout completion message mismatch"
         );
@@ -87,16 +95,16 @@ public class CheckoutTests extends BaseTest {
         log.info("===== START TEST: verifyFirstNameMissingValidationError =====");
 
         // Submit checkout form with missing first name
-        checkoutInfoPage.fillOutForm("", "LastNameQA", "12345");
-        checkoutInfoPage.clickContinue();
+        getCheckoutInfoPage().fillOutForm("", "LastNameQA", "12345");
+        getCheckoutInfoPage().clickContinue();
 
         // Verify validation error message
         Assert.assertTrue(
-            checkoutInfoPage.getErrorMessageText().contains("Error: First Name is required"),
+            getCheckoutInfoPage().getErrorMessageText().contains("Error: First Name is required"),
             "Expected validation error for missing first name was not displayed"
         );
         
-        log.info("Checkout validation error displayed: {}", checkoutInfoPage.getErrorMessageText());
+        log.info("Checkout validation error displayed: {}", getCheckoutInfoPage().getErrorMessageText());
     }
     
     @Story("Verify checkout validation error for missing last name")
@@ -108,16 +116,16 @@ public class CheckoutTests extends BaseTest {
         log.info("===== START TEST: verifyLastNameMissingValidationError =====");
 
         // Submit checkout form with missing last name
-        checkoutInfoPage.fillOutForm("FirstNameQA", "", "12345");
-        checkoutInfoPage.clickContinue();
+        getCheckoutInfoPage().fillOutForm("FirstNameQA", "", "12345");
+        getCheckoutInfoPage().clickContinue();
 
         // Verify validation error message
         Assert.assertTrue(
-            checkoutInfoPage.getErrorMessageText().contains("Error: Last Name is required"),
+            getCheckoutInfoPage().getErrorMessageText().contains("Error: Last Name is required"),
             "Expected validation error for missing last name was not displayed"
         );
         
-        log.info("Checkout validation error displayed: {}", checkoutInfoPage.getErrorMessageText());
+        log.info("Checkout validation error displayed: {}", getCheckoutInfoPage().getErrorMessageText());
     }
     
     
@@ -130,25 +138,25 @@ public class CheckoutTests extends BaseTest {
         log.info("===== START TEST: verifyZipCodeMissingValidationError =====");
 
         // Submit checkout form with missing last name
-        checkoutInfoPage.fillOutForm("FirstNameQA", "LastNameQA", "");
-        checkoutInfoPage.clickContinue();
+        getCheckoutInfoPage().fillOutForm("FirstNameQA", "LastNameQA", "");
+        getCheckoutInfoPage().clickContinue();
 
         // Verify validation error message
         Assert.assertTrue(
-            checkoutInfoPage.getErrorMessageText().contains("Error: Postal Code is required"),
+            getCheckoutInfoPage().getErrorMessageText().contains("Error: Postal Code is required"),
             "Expected validation error for missing zip code was not displayed"
         );
         
-        log.info("Checkout validation error displayed: {}", checkoutInfoPage.getErrorMessageText());
+        log.info("Checkout validation error displayed: {}", getCheckoutInfoPage().getErrorMessageText());
     }
 
     // ------------------------------------------
     // Data Providers
     // ------------------------------------------
-    @DataProvider(name = "checkoutInfo")
-    public Object[][] checkoutFormData() {
-        return new Object[][]{
-            {"Jeffin", "Mathew", "11040"}
-        };
+    @DataProvider(name = "checkoutInfo", parallel = true)
+    public Iterator<Object[]> checkoutFormData() {
+        return DataSource.load("testdata/checkout_data.csv")
+                .columns("firstName", "lastName", "postalCode")
+                .iterator();
     }
 }
@@ -1,6 +1,9 @@
 package tests;
 
 import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.Reporter;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import base.BaseTest;
@@ -10,7 +13,10 @@ import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import io.qameta.allure.Story;
+import utils.BrowserMatrix;
+import utils.ConfigReader;
 import utils.LoginTestDataReader;
+import utils.PerfBudget;
 
 @Epic("Core Selenium Tests")
 @Feature("Login Module")
@@ -19,7 +25,7 @@ public class LoginTests extends BaseTest {
     // ------------------------------------------
     // Data Providers
     // ------------------------------------------
-    @DataProvider(name = "validUsers")
+    @DataProvider(name = "validUsers", parallel = true)
     @Description("Provides valid usernames and the corresponding password for login tests")
     public Object[][] validUsers() {
 
@@ -52,17 +58,41 @@ public class LoginTests extends BaseTest {
 
         log.info("===== START TEST: verifyValidLogin FOR USER {} =====", username);
 
-        loginPage.login(username, password);
-        inventoryPage.waitForInventoryPage();
+        String journey = loginJourney(Reporter.getCurrentTestResult().getTestContext());
+        long loginMillis = PerfBudget.measure(journey, () -> {
+            getLoginPage().login(username, password);
+            getInventoryPage().waitForInventoryPage();
+        });
+        log.info("Login to inventory took {} ms for user: {}", loginMillis, username);
 
         Assert.assertTrue(
-            driver.getCurrentUrl().contains("inventory"),
+            getDriver().getCurrentUrl().contains("inventory"),
             "Login failed: Inventory page did not load for user: " + username
         );
 
+        getInventoryPage().capturePageMetrics();
+
         log.info("Valid login verified successfully for user: {}", username);
     }
 
+    // ------------------------------------------
+    // Latency Budget
+    // ------------------------------------------
+    // Checked once after every row has run, so the p95 covers all users and a slow user
+    // never fails another user's functional login test
+    @AfterClass(alwaysRun = true)
+    public void verifyLoginLatencyBudget(ITestContext testContext) {
+        String journey = loginJourney(testContext);
+        if (PerfBudget.hasSamples(journey)) {
+            PerfBudget.assertP95(journey, ConfigReader.getInt("loginToInventoryBudgetMillis"));
+        }
+    }
+
+    // Browser matrix clones of this class run in parallel, so each browser gets its own samples
+    private static String loginJourney(ITestContext testContext) {
+        return "login->inventory@" + BrowserMatrix.browserFor(testContext);
+    }
+
     // ------------------------------------------
     // Locked-Out User Tests
     // ------------------------------------------
@@ -78,12 +108,12 @@ public class LoginTests extends BaseTest {
 
         log.info("===== START TEST: verifyLockedOutLogin FOR USER {} =====", lockedOutUser);
 
-        loginPage.login(lockedOutUser, LoginTestDataReader.get("validPassword"));
+        getLoginPage().login(lockedOutUser, LoginTestDataReader.get("validPassword"));
 
         log.warn("Expecting locked-out error message for user: {}", lockedOutUser);
 
         Assert.assertTrue(
-            loginPage.getErrorMessage().contains("Sorry, this user has been locked out."),
+            getLoginPage().getErrorMessage().contains("Sorry, this user has been locked out."),
             "Error message not displayed correctly for locked-out user"
         );
 
@@ -103,13 +133,13 @@ public class LoginTests extends BaseTest {
 
         log.info("===== START TEST: verifyInvalidLogin =====");
 
-        loginPage.login(
+        getLoginPage().login(
             LoginTestDataReader.get("invalidUsername"),
             LoginTestDataReader.get("invalidPassword")
         );
 
         Assert.assertTrue(
-            loginPage.getErrorMessage().contains("Username and password do not match any user in this service"),
+            getLoginPage().getErrorMessage().contains("Username and password do not match any user in this service"),
             "Error message not displayed correctly for invalid user"
         );
 
@@ -129,10 +159,10 @@ public class LoginTests extends BaseTest {
 
         log.info("===== START TEST: verifyEmptyUsernameLogin =====");
 
-        loginPage.login("", LoginTestDataReader.get("validPassword"));
+        getLoginPage().login("", LoginTestDataReader.get("validPassword"));
 
         Assert.assertTrue(
-            loginPage.getErrorMessage().contains("Username is required"),
+            getLoginPage().getErrorMessage().contains("Username is required"),
             "Error message not displayed correctly when username is empty"
         );
 
@@ -152,10 +182,10 @@ public class LoginTests extends BaseTest {
 
         log.info("===== START TEST: verifyEmptyPasswordLogin =====");
 
-        loginPage.login(LoginTestDataReader.get("nonEmptyUsername"), "");
+        getLoginPage().login(LoginTestDataReader.get("nonEmptyUsername"), "");
 
         Assert.assertTrue(
-            loginPage.getErrorMessage().contains("Password is required"),
+            getLoginPage().getErrorMessage().contains("Password is required"),
             "Error message not displayed correctly when password is empty"
         );
 
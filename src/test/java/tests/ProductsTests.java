@@ -13,6 +13,7 @@ import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import io.qameta.allure.Story;
+import pages.Product;
 import utils.LoginTestDataReader;
 
 @Epic("Core Selenium Tests")
@@ -27,12 +28,12 @@ public class ProductsTests extends BaseTest {
     public void loginToInventory() {
         log.info("Logging in before inventory tests");
 
-        loginPage.login(
+        fastLogin(
             LoginTestDataReader.get("defaultProductUser"),
             LoginTestDataReader.get("validPassword")
         );
 
-        inventoryPage.waitForInventoryPage();
+        getInventoryPage().waitForInventoryPage();
     }
 
     // ------------------------------------------
@@ -46,8 +47,8 @@ public class ProductsTests extends BaseTest {
         log.info("===== START TEST: verifyInventoryPageLoads =====");
 
         Assert.assertTrue(
-            driver.getCurrentUrl().contains("inventory"),
-            "Inventory page did not load. URL does not contain 'inventory'. Actual URL: " + driver.getCurrentUrl()
+            getDriver().getCurrentUrl().contains("inventory"),
+            "Inventory page did not load. URL does not contain 'inventory'. Actual URL: " + getDriver().getCurrentUrl()
         );
     }
 
@@ -58,7 +59,7 @@ public class ProductsTests extends BaseTest {
     public void verifyProductsAreDisplayed() {
         log.info("===== START TEST: verifyProductsAreDisplayed =====");
 
-        int productCount = inventoryPage.getProductCount();
+        int productCount = getInventoryPage().getProductCount();
 
         Assert.assertTrue(
             productCount > 0,
@@ -73,7 +74,7 @@ public class ProductsTests extends BaseTest {
     public void verifyProductNames() {
         log.info("===== START TEST: verifyProductNamesAreDisplayed =====");
 
-        List<String> actualProductNames = inventoryPage.getProductNames();
+        List<String> actualProductNames = getInventoryPage().getProductNames();
 
         Assert.assertFalse(
             actualProductNames.isEmpty(),
@@ -93,7 +94,7 @@ public class ProductsTests extends BaseTest {
     public void verifyProductPrices() {
         log.info("===== START TEST: verifyProductPrices =====");
 
-        List<Double> actualProductPrices = inventoryPage.getProductPrices();
+        List<Double> actualProductPrices = getInventoryPage().getProductPrices();
 
         Assert.assertFalse(
             actualProductPrices.isEmpty(),
@@ -106,6 +107,25 @@ public class ProductsTests extends BaseTest {
         );
     }
 
+    @Story("Verify product details")
+    @Test(description = "Check that every product has a name, price, description and add-to-cart button")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test verifies the complete product record for each item displayed on the inventory page")
+    public void verifyProductDetails() {
+        log.info("===== START TEST: verifyProductDetails =====");
+
+        List<Product> products = getInventoryPage().getProducts();
+
+        Assert.assertFalse(products.isEmpty(), "No products were returned from the inventory page.");
+
+        for (Product product : products) {
+            Assert.assertFalse(product.getName().isEmpty(), "Product without a name: " + product);
+            Assert.assertTrue(product.getPrice() > 0, "Product without a valid price: " + product);
+            Assert.assertFalse(product.getDescription().isEmpty(), "Product without a description: " + product);
+            Assert.assertFalse(product.isInCart(), "Product is already in the cart on a fresh session: " + product);
+        }
+    }
+
     // ------------------------------------------
     // Sorting Tests
     // ------------------------------------------
@@ -116,9 +136,9 @@ public class ProductsTests extends BaseTest {
     public void verifySortByNameAToZ() {
         log.info("===== START TEST: verifySortByNameAToZ =====");
 
-        inventoryPage.sortByVisibleText("Name (A to Z)");
+        getInventoryPage().sortByVisibleText("Name (A to Z)");
 
-        List<String> actual = inventoryPage.getProductNames();
+        List<String> actual = getInventoryPage().getProductNames();
         List<String> expected = new ArrayList<>(actual);
         Collections.sort(expected);
 
@@ -136,9 +156,9 @@ public class ProductsTests extends BaseTest {
     public void verifySortByNameZToA() {
         log.info("===== START TEST: verifySortByNameZToA =====");
 
-        inventoryPage.sortByVisibleText("Name (Z to A)");
+        getInventoryPage().sortByVisibleText("Name (Z to A)");
 
-        List<String> actual = inventoryPage.getProductNames();
+        List<String> actual = getInventoryPage().getProductNames();
         List<String> expected = new ArrayList<>(actual);
         expected.sort(Collections.reverseOrder());
 
@@ -156,9 +176,9 @@ public class ProductsTests extends BaseTest {
     public void verifySortByPriceLowToHigh() {
         log.info("===== START TEST: verifySortByPriceLowToHigh =====");
 
-        inventoryPage.sortByVisibleText("Price (low to high)");
+        getInventoryPage().sortByVisibleText("Price (low to high)");
 
-        List<Double> actual = inventoryPage.getProductPrices();
+        List<Double> actual = getInventoryPage().getProductPrices();
         List<Double> expected = new ArrayList<>(actual);
         Collections.sort(expected);
 
@@ -176,9 +196,9 @@ public class ProductsTests extends BaseTest {
     public void verifySortByPriceHighToLow() {
         log.info("===== START TEST: verifySortByPriceHighToLow =====");
 
-        inventoryPage.sortByVisibleText("Price (high to low)");
+        getInventoryPage().sortByVisibleText("Price (high to low)");
 
-        List<Double> actual = inventoryPage.getProductPrices();
+        List<Double> actual = getInventoryPage().getProductPrices();
         List<Double> expected = new ArrayList<>(actual);
         expected.sort(Collections.reverseOrder());
 
@@ -199,10 +219,10 @@ public class ProductsTests extends BaseTest {
     public void verifySingleProductBadgeCount() {
         log.info("===== START TEST: verifyAddSingleProductToCart =====");
 
-        inventoryPage.addFirstItemToCart();
+        getInventoryPage().addFirstItemToCart();
 
         Assert.assertEquals(
-            inventoryPage.getBadgeCount(),
+            getInventoryPage().getBadgeCount(),
             1,
             "Cart badge count is incorrect after adding one item."
         );
@@ -217,10 +237,10 @@ public class ProductsTests extends BaseTest {
 
         String productName = "Sauce Labs Fleece Jacket";
 
-        inventoryPage.addItemToCartByName(productName);
-        inventoryPage.openCart();
+        getInventoryPage().addItemToCartByName(productName);
+        getInventoryPage().openCart();
 
-        List<String> cartItems = cartPage.getCartItemNames();
+        List<String> cartItems = getCartPage().getCartItemNames();
 
         Assert.assertTrue(
             cartItems.contains(productName),
@@ -228,7 +248,7 @@ public class ProductsTests extends BaseTest {
         );
 
         Assert.assertEquals(
-            cartPage.getCartItemCount(),
+            getCartPage().getCartItemCount(),
             1,
             "Cart item count is incorrect. Expected 1 item in the cart."
         );
@@ -241,19 +261,19 @@ public class ProductsTests extends BaseTest {
     public void verifyRemoveSingleProductFromCart() {
         log.info("===== START TEST: verifyRemoveSingleProductFromCart =====");
 
-        inventoryPage.addFirstItemToCart();
-        inventoryPage.openCart();
+        getInventoryPage().addFirstItemToCart();
+        getInventoryPage().openCart();
 
         Assert.assertEquals(
-            cartPage.getCartItemCount(),
+            getCartPage().getCartItemCount(),
             1,
             "Cart item count is incorrect. Expected 1 item in the cart."
         );
 
-        cartPage.removeFirstItemFromCart();
+        getCartPage().removeFirstItemFromCart();
 
         Assert.assertEquals(
-            cartPage.getCartItemCount(),
+            getCartPage().getCartItemCount(),
             0,
             "Cart is not empty after removing item."
         );
@@ -271,10 +291,10 @@ public class ProductsTests extends BaseTest {
 
         List<String> productNames = List.of("Sauce Labs Backpack", "Sauce Labs Bike Light");
 
-        inventoryPage.addItemsToCartByName(productNames);
+        getInventoryPage().addItemsToCartByName(productNames);
 
         Assert.assertEquals(
-            inventoryPage.getBadgeCount(),
+            getInventoryPage().getBadgeCount(),
             productNames.size(),
             "Cart badge count does not match number of added products."
         );
@@ -289,16 +309,16 @@ public class ProductsTests extends BaseTest {
 
         List<String> productNames = List.of("Sauce Labs Backpack", "Sauce Labs Fleece Jacket");
 
-        inventoryPage.addItemsToCartByName(productNames);
-        inventoryPage.openCart();
+        getInventoryPage().addItemsToCartByName(productNames);
+        getInventoryPage().openCart();
 
         Assert.assertEquals(
-            cartPage.getCartItemCount(),
+            getCartPage().getCartItemCount(),
             productNames.size(),
             "Cart item count does not match number of added products."
         );
 
-        List<String> cartItems = cartPage.getCartItemNames();
+        List<String> cartItems = getCartPage().getCartItemNames();
 
         for (String name : productNames) {
             Assert.assertTrue(
@@ -317,13 +337,13 @@ public class ProductsTests extends BaseTest {
 
         List<String> productNames = List.of("Sauce Labs Bolt T-Shirt", "Sauce Labs Fleece Jacket");
 
-        inventoryPage.addItemsToCartByName(productNames);
-        inventoryPage.openCart();
+        getInventoryPage().addItemsToCartByName(productNames);
+        getInventoryPage().openCart();
 
-        cartPage.removeItemsFromCartByName(productNames);
+        getCartPage().removeItemsFromCartByName(productNames);
 
         Assert.assertEquals(
-            cartPage.getCartItemCount(),
+            getCartPage().getCartItemCount(),
             0,
             "Cart is not empty after removing all items."
         );
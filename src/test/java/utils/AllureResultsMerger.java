@@ -0,0 +1,104 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Properties;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Combines the allure-results directories of several shards into one report input.
+// Usage: java -cp <test classpath> utils.AllureResultsMerger <output dir> <shard dir>...
+public class AllureResultsMerger {
+
+	private static final Logger log = LogManager.getLogger(AllureResultsMerger.class);
+
+	private static final String ENVIRONMENT_FILE = "environment.properties";
+
+
+	// ------------------------------------------
+	// Entry Point
+	// ------------------------------------------
+	public static void main(String[] args) throws IOException {
+
+		if(args.length < 2) {
+			throw new IllegalArgumentException("Usage: AllureResultsMerger <output dir> <shard results dir>...");
+		}
+
+		Path output = Paths.get(args[0]);
+		int copied = merge(output, Arrays.stream(args, 1, args.length).map(Paths::get).toArray(Path[]::new));
+		log.info("Merged {} file(s) from {} shard(s) into {}", copied, args.length - 1, output.toAbsolutePath());
+	}
+
+	public static int merge(Path output, Path... shards) throws IOException {
+
+		Files.createDirectories(output);
+		Properties environment = new Properties();
+		int copied = 0;
+
+		for(int shard = 0; shard < shards.length; shard++) {
+
+			if(!Files.isDirectory(shards[shard])) {
+				log.warn("Skipping missing shard results directory {}", shards[shard]);
+				continue;
+			}
+
+			try(DirectoryStream<Path> files = Files.newDirectoryStream(shards[shard])) {
+				for(Path file : files) {
+					if(!Files.isRegularFile(file)) {
+						continue;
+					}
+
+					String name = file.getFileName().toString();
+
+					if(name.equals(ENVIRONMENT_FILE)) {
+						try(InputStream input = Files.newInputStream(file)) {
+							environment.load(input);
+						}
+						continue;
+					}
+
+					copied += copy(file, output.resolve(name), shard + 1) ? 1 : 0;
+				}
+			}
+		}
+
+		if(!environment.isEmpty()) {
+			try(OutputStream out = Files.newOutputStream(output.resolve(ENVIRONMENT_FILE))) {
+				environment.store(out, null);
+			}
+		}
+
+		return copied;
+	}
+
+
+	// ------------------------------------------
+	// Helpers
+	// ------------------------------------------
+	// Results, containers and attachments are UUID-named, so clashes are only the shared
+	// files (categories.json, executor.json); identical copies are skipped, others kept per shard
+	private static boolean copy(Path source, Path target, int shard) throws IOException {
+
+		if(Files.exists(target)) {
+			if(Arrays.equals(Files.readAllBytes(source), Files.readAllBytes(target))) {
+				return false;
+			}
+			if(target.getFileName().toString().endsWith(".json") && !target.getFileName().toString().contains("-result")
+					&& !target.getFileName().toString().contains("-container")) {
+				log.debug("Keeping first {} over shard {}'s copy", target.getFileName(), shard);
+				return false;
+			}
+			target = target.resolveSibling("shard" + shard + "-" + target.getFileName());
+		}
+
+		Files.copy(source, target);
+		return true;
+	}
+
+}
@@ -0,0 +1,155 @@
+package utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Label;
+
+public class BrowserMatrix implements IAlterSuiteListener, IInvokedMethodListener {
+
+	public static final String BROWSER_PARAMETER = "browser";
+
+	private static final Logger log = LogManager.getLogger(BrowserMatrix.class);
+
+
+	// ------------------------------------------
+	// Suite Expansion
+	// ------------------------------------------
+	// browsers=chrome,firefox,edge clones every <test> once per browser. Clones are
+	// interleaved by browser so the tests running side by side use different browsers.
+	@Override
+	public void alter(List<XmlSuite> suites) {
+
+		List<String> browsers = ConfigReader.getList("browsers");
+		if(browsers.isEmpty()) {
+			return;
+		}
+
+		int budget = threadBudget();
+		int concurrentTests = Math.min(browsers.size(), budget);
+		int threadsPerTest = Math.max(1, budget / concurrentTests);
+
+		for(XmlSuite suite : suites) {
+
+			List<XmlTest> originals = new ArrayList<>(suite.getTests());
+			suite.getTests().clear();
+
+			for(XmlTest original : originals) {
+				for(String browser : browsers) {
+					expand(suite, original, browser, threadsPerTest);
+				}
+			}
+
+			suite.setParallel(XmlSuite.ParallelMode.TESTS);
+			suite.setThreadCount(concurrentTests);
+
+			log.info("Browser matrix {} expanded {} test(s) to {}; {} concurrent test(s) x {} thread(s) (budget {})",
+					browsers, originals.size(), suite.getTests().size(), concurrentTests, threadsPerTest, budget);
+		}
+	}
+
+	private static void expand(XmlSuite suite, XmlTest original, String browser, int threadCount) {
+
+		// XmlTest.clone() registers the copy with the suite itself
+		XmlTest copy = (XmlTest) original.clone();
+		copy.setName(original.getName() + " [" + browser + "]");
+		copy.addParameter(BROWSER_PARAMETER, browser);
+		copy.setParallel(XmlSuite.ParallelMode.METHODS);
+		copy.setThreadCount(threadCount);
+
+		List<XmlClass> classes = new ArrayList<>();
+		for(XmlClass xmlClass : original.getXmlClasses()) {
+			XmlClass classCopy = (XmlClass) xmlClass.clone();
+			classCopy.setXmlTest(copy);
+			classes.add(classCopy);
+		}
+		copy.setXmlClasses(classes);
+
+		if(suite.getTests().stream().noneMatch(test -> test == copy)) {
+			suite.getTests().add(copy);
+		}
+	}
+
+
+	// ------------------------------------------
+	// Thread Budget
+	// ------------------------------------------
+	// Each browser session costs roughly a core and browserMemoryMb of RAM; the budget is
+	// whichever runs out first, optionally capped by matrixThreadBudget.
+	public static int threadBudget() {
+
+		int byCores = Math.max(1, (int) (Runtime.getRuntime().availableProcessors() * ConfigReader.getDouble("browsersPerCore")));
+		int budget = byCores;
+
+		long freeMb = freePhysicalMemoryMb();
+		if(freeMb > 0) {
+			budget = Math.min(budget, Math.max(1, (int) (freeMb / ConfigReader.getInt("browserMemoryMb"))));
+		}
+
+		int cap = ConfigReader.getInt("matrixThreadBudget");
+		if(cap > 0) {
+			budget = Math.min(budget, cap);
+		}
+
+		log.debug("Thread budget {} (cores allow {}, free memory {} MB)", budget, byCores, freeMb);
+		return budget;
+	}
+
+	private static long freePhysicalMemoryMb() {
+
+		OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+		if(os instanceof com.sun.management.OperatingSystemMXBean) {
+			return ((com.sun.management.OperatingSystemMXBean) os).getFreeMemorySize() / (1024 * 1024);
+		}
+		return -1;
+	}
+
+
+	// ------------------------------------------
+	// Browser Resolution
+	// ------------------------------------------
+	public static String browserFor(ITestContext testContext) {
+
+		String browser = testContext == null ? null : testContext.getCurrentXmlTest().getParameter(BROWSER_PARAMETER);
+		return browser == null || browser.isEmpty() ? ConfigReader.getKey("browser") : browser;
+	}
+
+
+	// ------------------------------------------
+	// Allure Grouping
+	// ------------------------------------------
+	// Groups results under the browser and keeps the per-browser runs of one test
+	// from being folded together as retries.
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+
+		if(!method.isTestMethod()) {
+			return;
+		}
+
+		String browser = testResult.getTestContext().getCurrentXmlTest().getParameter(BROWSER_PARAMETER);
+		if(browser == null) {
+			return;
+		}
+
+		Allure.parameter(BROWSER_PARAMETER, browser);
+		Allure.getLifecycle().updateTestCase(result -> {
+			result.getLabels().removeIf(label -> "parentSuite".equals(label.getName()));
+			result.getLabels().add(new Label().setName("parentSuite").setValue(browser));
+			result.setHistoryId(result.getHistoryId() + "-" + browser);
+		});
+	}
+
+}
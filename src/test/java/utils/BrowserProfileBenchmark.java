@@ -0,0 +1,150 @@
+package utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import base.BaseTest;
+import base.DriverFactory;
+
+// Compares the default and fast browser profiles on the same navigation sequence.
+// Run from the IDE or: java -cp <test classpath> utils.BrowserProfileBenchmark [browser] [iterations]
+public class BrowserProfileBenchmark {
+
+	private static final Logger log = LogManager.getLogger(BrowserProfileBenchmark.class);
+
+	private static final List<String> PROFILES = Arrays.asList(DriverFactory.DEFAULT_PROFILE, DriverFactory.FAST_PROFILE);
+
+
+	// ------------------------------------------
+	// Entry Point
+	// ------------------------------------------
+	public static void main(String[] args) {
+
+		String browser = args.length > 0 ? args[0] : ConfigReader.getKey("browser");
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : ConfigReader.getInt("benchmarkIterations");
+
+		Map<String, Map<String, LatencyHistogram>> results = new LinkedHashMap<>();
+
+		try {
+			String baseUrl = BaseTest.getBaseUrl();
+
+			// Alternate profiles each iteration so drift on the machine affects both equally
+			for(int i = 1; i <= iterations; i++) {
+				for(String profile : PROFILES) {
+					log.info("Iteration {}/{} with {} profile", i, iterations, profile);
+					run(browser, profile, baseUrl, results.computeIfAbsent(profile, key -> new TreeMap<>()));
+				}
+			}
+		} finally {
+			LocalSauceDemoServer.stop();
+		}
+
+		report(browser, iterations, results);
+	}
+
+
+	// ------------------------------------------
+	// Measured Sequence
+	// ------------------------------------------
+	private static void run(String browser, String profile, String baseUrl, Map<String, LatencyHistogram> steps) {
+
+		String username = LoginTestDataReader.get("defaultProductUser");
+		String password = LoginTestDataReader.get("validPassword");
+
+		WebDriver driver = measure(steps, "1.startup", () -> DriverFactory.createDriver(browser, profile));
+
+		try {
+			WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getInt("explicitWait")));
+			URI base = URI.create(baseUrl);
+
+			measure(steps, "2.firstLoad", () -> {
+				driver.get(baseUrl);
+				return wait.until(ExpectedConditions.elementToBeClickable(By.id("login-button")));
+			});
+
+			measure(steps, "3.login", () -> {
+				driver.findElement(By.id("user-name")).sendKeys(username);
+				driver.findElement(By.id("password")).sendKeys(password);
+				driver.findElement(By.id("login-button")).click();
+				return wait.until(ExpectedConditions.visibilityOfElementLocated(By.className("inventory_list")));
+			});
+
+			measure(steps, "4.navigateCart", () -> {
+				driver.get(base.resolve("cart.html").toString());
+				return wait.until(ExpectedConditions.presenceOfElementLocated(By.className("cart_list")));
+			});
+
+			measure(steps, "5.navigateInventory", () -> {
+				driver.get(base.resolve("inventory.html").toString());
+				return wait.until(ExpectedConditions.visibilityOfElementLocated(By.className("inventory_list")));
+			});
+
+		} finally {
+			driver.quit();
+		}
+	}
+
+	private static <T> T measure(Map<String, LatencyHistogram> steps, String step, Supplier<T> action) {
+
+		long start = System.nanoTime();
+		T result = action.get();
+		steps.computeIfAbsent(step, key -> new LatencyHistogram()).record(System.nanoTime() - start);
+		return result;
+	}
+
+
+	// ------------------------------------------
+	// Report
+	// ------------------------------------------
+	private static void report(String browser, int iterations, Map<String, Map<String, LatencyHistogram>> results) {
+
+		Map<String, LatencyHistogram> baseline = results.get(DriverFactory.DEFAULT_PROFILE);
+		Map<String, LatencyHistogram> fast = results.get(DriverFactory.FAST_PROFILE);
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("browser", browser);
+		report.put("iterations", iterations);
+
+		for(Map.Entry<String, Map<String, LatencyHistogram>> profile : results.entrySet()) {
+			Map<String, Object> steps = new LinkedHashMap<>();
+			profile.getValue().forEach((step, histogram) -> steps.put(step, histogram.summary()));
+			report.put(profile.getKey(), steps);
+		}
+
+		// Built once and logged as one message, so the table stays together in the log
+		StringBuilder table = new StringBuilder(String.format("%-22s %12s %12s %9s", "step (p50 ms)", "default", "fast", "speedup"));
+		for(String step : baseline.keySet()) {
+			double before = baseline.get(step).getPercentileMillis(50);
+			double after = fast.get(step).getPercentileMillis(50);
+			table.append(String.format("%n%-22s %12.1f %12.1f %8.2fx", step, before, after, after == 0 ? 0 : before / after));
+		}
+		log.info("Browser profile benchmark ({}, {} iteration(s)):{}{}", browser, iterations, System.lineSeparator(), table);
+
+		Path file = Paths.get(ConfigReader.getKey("timingsDir")).resolve("browser-profile-benchmark.json");
+		try {
+			Files.createDirectories(file.getParent());
+			Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+			log.info("Wrote browser profile benchmark to {}", file.toAbsolutePath());
+		} catch(IOException e) {
+			log.warn("Could not write benchmark report to {}", file, e);
+		}
+	}
+
+}
@@ -1,42 +1,255 @@
 package utils;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class ConfigReader {
-	
-	private static Properties properties;
-	
-	
+
+	// ------------------------------------------
+	// Configuration Layers
+	// ------------------------------------------
+	// Later layers win: defaults -> config.properties -> config-<profile>.properties
+	// -> SF_* environment variables -> -D system properties.
+	private static final String BASE_FILE = "config.properties";
+	private static final String ENV_PREFIX = "SF_";
+
+	private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
 	static {
-		
-		try {
-			
-			properties = new Properties();
-			InputStream input = ConfigReader.class.getClassLoader().getResourceAsStream("config.properties");
-			
-			if(input == null) {
-				throw new RuntimeException("config.properties not found in classpath");
+		DEFAULTS.put("browser", "chrome");
+		DEFAULTS.put("headless", "false");
+		DEFAULTS.put("maximize", "true");
+		DEFAULTS.put("zoom", "100");
+		DEFAULTS.put("explicitWait", "20");
+		DEFAULTS.put("profile", "");
+	}
+
+	private static final Map<String, String> values;
+	private static final Map<String, String> sources;
+	private static final String profile;
+
+	// Parsed values are computed once per key and type, then reused
+	private static final Map<String, Object> parsed = new ConcurrentHashMap<>();
+
+
+	static {
+		Layers layers = resolve(load(BASE_FILE, true), file -> load(file, true), System::getenv, System::getProperty);
+		values = layers.values;
+		sources = layers.sources;
+		profile = layers.profile;
+	}
+
+
+	// ------------------------------------------
+	// Layer Resolution
+	// ------------------------------------------
+	// Values, where each one came from, and the selected profile
+	static class Layers {
+
+		final Map<String, String> values;
+		final Map<String, String> sources;
+		final String profile;
+
+		private Layers(Map<String, String> values, Map<String, String> sources, String profile) {
+			this.values = Collections.unmodifiableMap(values);
+			this.sources = Collections.unmodifiableMap(sources);
+			this.profile = profile;
+		}
+	}
+
+	// The environment and system properties are passed in, so precedence can be checked
+	// without touching the real ones
+	static Layers resolve(Map<String, String> baseFile, Function<String, Map<String, String>> profileFiles,
+			Function<String, String> env, Function<String, String> system) {
+
+		Map<String, String> merged = new LinkedHashMap<>();
+		Map<String, String> origin = new LinkedHashMap<>();
+
+		merge(merged, origin, DEFAULTS, "defaults");
+		merge(merged, origin, baseFile, BASE_FILE);
+
+		String selectedProfile = firstNonEmpty(
+				system.apply("profile"),
+				env.apply(ENV_PREFIX + "PROFILE"),
+				merged.get("profile"));
+
+		if(!selectedProfile.isEmpty()) {
+			String profileFile = "config-" + selectedProfile + ".properties";
+			merge(merged, origin, profileFiles.apply(profileFile), profileFile);
+			merged.put("profile", selectedProfile);
+		}
+
+		for(String key : new ArrayList<>(merged.keySet())) {
+
+			String fromEnv = env.apply(toEnvName(key));
+			if(fromEnv != null) {
+				merged.put(key, fromEnv);
+				origin.put(key, "env " + toEnvName(key));
 			}
-			
-			properties.load(input);
-			
-		} catch(Exception e) {
-			throw new RuntimeException("Failed to load config.properties", e);
-		}	
-		
+
+			String fromSystem = system.apply(key);
+			if(fromSystem != null) {
+				merged.put(key, fromSystem);
+				origin.put(key, "-D" + key);
+			}
+		}
+
+		for(Map.Entry<String, String> entry : merged.entrySet()) {
+			entry.setValue(entry.getValue().trim());
+		}
+
+		return new Layers(merged, origin, selectedProfile);
 	}
-	
+
+
+	// ------------------------------------------
+	// Typed Accessors
+	// ------------------------------------------
 	public static String getKey(String key) {
-		return properties.getProperty(key).trim();
+		return require(key);
 	}
-	
+
+	public static String getKey(String key, String defaultValue) {
+		String value = values.get(key);
+		return value == null || value.isEmpty() ? defaultValue : value;
+	}
+
+	public static boolean has(String key) {
+		String value = values.get(key);
+		return value != null && !value.isEmpty();
+	}
+
 	public static boolean getBoolean(String key) {
-		return Boolean.parseBoolean(properties.getProperty(key).trim());
+		return parse(key, "boolean", value -> {
+			if(!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+				throw new IllegalArgumentException("expected true or false");
+			}
+			return Boolean.valueOf(value);
+		});
 	}
-	
+
 	public static int getInt(String key) {
-		return Integer.parseInt(properties.getProperty(key).trim());
+		return parse(key, "int", Integer::valueOf);
+	}
+
+	public static long getLong(String key) {
+		return parse(key, "long", Long::valueOf);
+	}
+
+	public static double getDouble(String key) {
+		return parse(key, "double", Double::valueOf);
+	}
+
+	public static List<String> getList(String key) {
+		return parse(key, "list", value -> {
+			List<String> items = new ArrayList<>();
+			for(String item : value.split(",")) {
+				if(!item.trim().isEmpty()) {
+					items.add(item.trim());
+				}
+			}
+			return Collections.unmodifiableList(items);
+		});
+	}
+
+
+	// ------------------------------------------
+	// Introspection
+	// ------------------------------------------
+	public static String getProfile() {
+		return profile;
+	}
+
+	public static String getSource(String key) {
+		return sources.get(key);
+	}
+
+	public static Map<String, String> snapshot() {
+		return values;
+	}
+
+
+	// ------------------------------------------
+	// Helpers
+	// ------------------------------------------
+	private static String require(String key) {
+		String value = values.get(key);
+		if(value == null) {
+			throw new IllegalStateException("Missing configuration key '" + key + "' (profile: "
+					+ (profile.isEmpty() ? "none" : profile) + "). Add it to " + BASE_FILE
+					+ ", a profile file, " + toEnvName(key) + " or -D" + key);
+		}
+		return value;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T parse(String key, String type, Function<String, T> parser) {
+		return (T) parsed.computeIfAbsent(type + ":" + key, cacheKey -> {
+			String value = require(key);
+			try {
+				return parser.apply(value);
+			} catch(IllegalArgumentException e) {
+				throw new IllegalStateException("Configuration key '" + key + "' from " + sources.get(key)
+						+ " is not a valid " + type + ": '" + value + "'", e);
+			}
+		});
+	}
+
+	private static Map<String, String> load(String resource, boolean required) {
+
+		Properties properties = new Properties();
+
+		try(InputStream input = ConfigReader.class.getClassLoader().getResourceAsStream(resource)) {
+
+			if(input == null) {
+				if(required) {
+					throw new RuntimeException(resource + " not found in classpath");
+				}
+				return Collections.emptyMap();
+			}
+
+			properties.load(input);
+
+		} catch(RuntimeException e) {
+			throw e;
+		} catch(Exception e) {
+			throw new RuntimeException("Failed to load " + resource, e);
+		}
+
+		Map<String, String> loaded = new LinkedHashMap<>();
+		for(String name : properties.stringPropertyNames()) {
+			loaded.put(name, properties.getProperty(name));
+		}
+		return loaded;
+	}
+
+	private static void merge(Map<String, String> target, Map<String, String> origin,
+			Map<String, String> layer, String source) {
+		for(Map.Entry<String, String> entry : layer.entrySet()) {
+			target.put(entry.getKey(), entry.getValue());
+			origin.put(entry.getKey(), source);
+		}
+	}
+
+	// explicitWait -> SF_EXPLICIT_WAIT
+	static String toEnvName(String key) {
+		return ENV_PREFIX + key.replaceAll("([a-z0-9])([A-Z])", "$1_$2").replace('.', '_').toUpperCase();
+	}
+
+	private static String firstNonEmpty(String... candidates) {
+		return Arrays.stream(candidates)
+				.filter(candidate -> candidate != null && !candidate.trim().isEmpty())
+				.map(String::trim)
+				.findFirst()
+				.orElse("");
 	}
 
 }
@@ -0,0 +1,108 @@
+package utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ConfigReaderTests {
+
+	private static final Function<String, String> NONE = key -> null;
+	private static final Function<String, Map<String, String>> NO_PROFILES = name -> Collections.emptyMap();
+
+	private static Map<String, String> map(String... keysAndValues) {
+		Map<String, String> map = new HashMap<>();
+		for(int i = 0; i < keysAndValues.length; i += 2) {
+			map.put(keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return map;
+	}
+
+	private static Function<String, Map<String, String>> profiles(String file, Map<String, String> values) {
+		return name -> name.equals(file) ? values : Collections.<String, String>emptyMap();
+	}
+
+
+	// ------------------------------------------
+	// Layer Precedence
+	// ------------------------------------------
+	@Test
+	public void configFileOverridesDefaults() {
+		ConfigReader.Layers layers = ConfigReader.resolve(map("explicitWait", "10"), NO_PROFILES, NONE, NONE);
+
+		Assert.assertEquals(layers.values.get("explicitWait"), "10");
+		Assert.assertEquals(layers.sources.get("explicitWait"), "config.properties");
+		Assert.assertEquals(layers.values.get("browser"), "chrome");
+		Assert.assertEquals(layers.sources.get("browser"), "defaults");
+	}
+
+	@Test
+	public void profileFileOverridesConfigFile() {
+		ConfigReader.Layers layers = ConfigReader.resolve(
+				map("profile", "ci", "explicitWait", "10", "headless", "false"),
+				profiles("config-ci.properties", map("headless", "true")),
+				NONE, NONE);
+
+		Assert.assertEquals(layers.profile, "ci");
+		Assert.assertEquals(layers.values.get("headless"), "true");
+		Assert.assertEquals(layers.sources.get("headless"), "config-ci.properties");
+		Assert.assertEquals(layers.values.get("explicitWait"), "10");
+	}
+
+	@Test
+	public void environmentOverridesProfileAndSystemPropertiesOverrideEverything() {
+		ConfigReader.Layers layers = ConfigReader.resolve(
+				map("profile", "ci", "explicitWait", "10", "browser", "firefox"),
+				profiles("config-ci.properties", map("explicitWait", "15", "browser", "edge")),
+				map("SF_EXPLICIT_WAIT", "30", "SF_BROWSER", "chrome")::get,
+				map("browser", "safari")::get);
+
+		Assert.assertEquals(layers.values.get("explicitWait"), "30");
+		Assert.assertEquals(layers.sources.get("explicitWait"), "env SF_EXPLICIT_WAIT");
+		Assert.assertEquals(layers.values.get("browser"), "safari");
+		Assert.assertEquals(layers.sources.get("browser"), "-Dbrowser");
+	}
+
+	@Test
+	public void systemPropertySelectsTheProfileBeforeEnvironmentAndFile() {
+		Function<String, Map<String, String>> files = name -> map("origin", name);
+
+		Assert.assertEquals(ConfigReader.resolve(map("profile", "file"), files, NONE, NONE)
+				.values.get("origin"), "config-file.properties");
+		Assert.assertEquals(ConfigReader.resolve(map("profile", "file"), files, map("SF_PROFILE", "env")::get, NONE)
+				.values.get("origin"), "config-env.properties");
+		Assert.assertEquals(ConfigReader.resolve(map("profile", "file"), files, map("SF_PROFILE", "env")::get,
+				map("profile", "system")::get).profile, "system");
+	}
+
+	@Test
+	public void noProfileLoadsNoProfileFile() {
+		ConfigReader.Layers layers = ConfigReader.resolve(map("explicitWait", "10"),
+				name -> { throw new AssertionError("Loaded " + name + " without a profile"); }, NONE, NONE);
+
+		Assert.assertEquals(layers.profile, "");
+	}
+
+	@Test
+	public void trimsValuesFromEveryLayer() {
+		ConfigReader.Layers layers = ConfigReader.resolve(map("explicitWait", " 10 "), NO_PROFILES,
+				map("SF_BROWSER", " firefox\t")::get, NONE);
+
+		Assert.assertEquals(layers.values.get("explicitWait"), "10");
+		Assert.assertEquals(layers.values.get("browser"), "firefox");
+	}
+
+
+	// ------------------------------------------
+	// Environment Names
+	// ------------------------------------------
+	@Test
+	public void mapsKeysToEnvironmentVariableNames() {
+		Assert.assertEquals(ConfigReader.toEnvName("explicitWait"), "SF_EXPLICIT_WAIT");
+		Assert.assertEquals(ConfigReader.toEnvName("driverPoolMaxReuse"), "SF_DRIVER_POOL_MAX_REUSE");
+		Assert.assertEquals(ConfigReader.toEnvName("allure.results.directory"), "SF_ALLURE_RESULTS_DIRECTORY");
+	}
+
+}
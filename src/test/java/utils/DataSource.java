@@ -0,0 +1,386 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
+
+// Streams DataProvider rows from CSV, JSON (array of objects) or JSONL files, read from the
+// filesystem if the path exists there and from the classpath otherwise:
+//
+//   @DataProvider(name = "checkoutInfo", parallel = true)
+//   public Iterator<Object[]> checkoutInfo() {
+//       return DataSource.load("testdata/checkout_data.csv").columns("firstName", "lastName", "postalCode").iterator();
+//   }
+public class DataSource {
+
+	private static final Logger log = LogManager.getLogger(DataSource.class);
+
+	private static final int CACHE_MAX_ROWS = ConfigReader.getInt("dataCacheMaxRows");
+
+	// Datasets small enough to keep are parsed once per JVM and shared by every class using them
+	private static final Map<String, List<Map<String, String>>> cache = new ConcurrentHashMap<>();
+
+	private final String path;
+	private String[] columns;
+	private Predicate<Map<String, String>> filter = row -> true;
+	private double sampleRate = ConfigReader.getDouble("dataSampleRate");
+	private long sampleSeed = ConfigReader.getLong("dataSampleSeed");
+	private int limit = ConfigReader.getInt("dataMaxRows");
+
+	private DataSource(String path) {
+		this.path = path;
+	}
+
+	public static DataSource load(String path) {
+		return new DataSource(path);
+	}
+
+
+	// ------------------------------------------
+	// Row Selection
+	// ------------------------------------------
+	// Values in the order the test method takes them; without this, every field in file order
+	public DataSource columns(String... columns) {
+		this.columns = columns;
+		return this;
+	}
+
+	public DataSource filter(Predicate<Map<String, String>> filter) {
+		this.filter = this.filter.and(filter);
+		return this;
+	}
+
+	// Keeps roughly `rate` of the rows; the choice depends only on the seed and row number,
+	// so a sampled run can be repeated exactly
+	public DataSource sample(double rate, long seed) {
+		this.sampleRate = rate;
+		this.sampleSeed = seed;
+		return this;
+	}
+
+	public DataSource limit(int limit) {
+		this.limit = limit;
+		return this;
+	}
+
+
+	// ------------------------------------------
+	// Iteration
+	// ------------------------------------------
+	public Iterator<Object[]> iterator() {
+
+		Iterator<Map<String, String>> rows = rows();
+
+		return new Iterator<Object[]>() {
+
+			private long index = -1;
+			private int returned;
+			private Object[] next;
+
+			@Override
+			public boolean hasNext() {
+				while(next == null && (limit <= 0 || returned < limit) && rows.hasNext()) {
+					Map<String, String> row = rows.next();
+					index++;
+					if(sampled(index) && filter.test(row)) {
+						next = values(row);
+					}
+				}
+				return next != null;
+			}
+
+			@Override
+			public Object[] next() {
+				if(!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Object[] row = next;
+				next = null;
+				returned++;
+				return row;
+			}
+		};
+	}
+
+	private boolean sampled(long index) {
+		if(sampleRate >= 1.0) {
+			return true;
+		}
+		long mixed = (index + sampleSeed) * 0x9E3779B97F4A7C15L;
+		mixed ^= mixed >>> 32;
+		return (mixed & 0xFFFFFFL) < sampleRate * 0x1000000L;
+	}
+
+	private Object[] values(Map<String, String> row) {
+		if(columns == null) {
+			return row.values().toArray();
+		}
+
+		Object[] values = new Object[columns.length];
+		for(int i = 0; i < columns.length; i++) {
+			if(!row.containsKey(columns[i])) {
+				throw new IllegalStateException("Column '" + columns[i] + "' not found in " + path + ", has " + row.keySet());
+			}
+			values[i] = row.get(columns[i]);
+		}
+		return values;
+	}
+
+	// Serves the cached copy when there is one; otherwise streams the file and keeps the rows
+	// only if the whole dataset turns out to fit under dataCacheMaxRows
+	private Iterator<Map<String, String>> rows() {
+
+		List<Map<String, String>> cached = cache.get(path);
+		if(cached != null) {
+			return cached.iterator();
+		}
+
+		Iterator<Map<String, String>> parsed = parse();
+
+		return new Iterator<Map<String, String>>() {
+
+			private List<Map<String, String>> kept = new ArrayList<>();
+
+			@Override
+			public boolean hasNext() {
+				boolean more = parsed.hasNext();
+				if(!more && kept != null) {
+					cache.putIfAbsent(path, Collections.unmodifiableList(kept));
+					log.info("Cached {} row(s) from {}", kept.size(), path);
+					kept = null;
+				}
+				return more;
+			}
+
+			@Override
+			public Map<String, String> next() {
+				Map<String, String> row = Collections.unmodifiableMap(parsed.next());
+				if(kept != null) {
+					kept.add(row);
+					if(kept.size() > CACHE_MAX_ROWS) {
+						kept = null;
+					}
+				}
+				return row;
+			}
+		};
+	}
+
+
+	// ------------------------------------------
+	// Parsing
+	// ------------------------------------------
+	private Iterator<Map<String, String>> parse() {
+
+		BufferedReader reader = new BufferedReader(open(), 64 * 1024);
+		String lower = path.toLowerCase();
+
+		if(lower.endsWith(".csv")) {
+			return new CsvRows(reader);
+		}
+		if(lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) {
+			return new JsonLines(reader);
+		}
+		if(lower.endsWith(".json")) {
+			return new JsonArray(reader);
+		}
+		throw new IllegalStateException("Unsupported data file type: " + path);
+	}
+
+	private Reader open() {
+		try {
+			Path file = Paths.get(path);
+			if(Files.isRegularFile(file)) {
+				return Files.newBufferedReader(file, StandardCharsets.UTF_8);
+			}
+
+			InputStream input = DataSource.class.getClassLoader().getResourceAsStream(path);
+			if(input == null) {
+				throw new IllegalStateException("Data file not found on disk or classpath: " + path);
+			}
+			return new InputStreamReader(input, StandardCharsets.UTF_8);
+		} catch(IOException e) {
+			throw new UncheckedIOException("Could not open data file " + path, e);
+		}
+	}
+
+	static String[] splitCsv(String line) {
+
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+
+		for(int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if(quoted) {
+				if(c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if(c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if(c == '"') {
+				quoted = true;
+			} else if(c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields.toArray(new String[0]);
+	}
+
+	private static Map<String, String> toStrings(Map<String, Object> values) {
+		Map<String, String> row = new LinkedHashMap<>();
+		for(Map.Entry<String, Object> value : values.entrySet()) {
+			row.put(value.getKey(), value.getValue() == null ? null : String.valueOf(value.getValue()));
+		}
+		return row;
+	}
+
+	// Closes the file as soon as the last row has been handed out
+	private abstract class StreamingRows implements Iterator<Map<String, String>> {
+
+		private final Reader reader;
+		private Map<String, String> next;
+		private boolean done;
+
+		StreamingRows(Reader reader) {
+			this.reader = reader;
+		}
+
+		abstract Map<String, String> read() throws IOException;
+
+		@Override
+		public boolean hasNext() {
+			if(next == null && !done) {
+				try {
+					next = read();
+					if(next == null) {
+						done = true;
+						reader.close();
+					}
+				} catch(IOException e) {
+					throw new UncheckedIOException("Could not read data file " + path, e);
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public Map<String, String> next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Map<String, String> row = next;
+			next = null;
+			return row;
+		}
+	}
+
+	// One record per line with a header row; quoted fields may contain commas and "" escapes
+	private class CsvRows extends StreamingRows {
+
+		private final BufferedReader reader;
+		private String[] header;
+
+		CsvRows(BufferedReader reader) {
+			super(reader);
+			this.reader = reader;
+		}
+
+		@Override
+		Map<String, String> read() throws IOException {
+			String line;
+			while((line = reader.readLine()) != null) {
+				if(line.trim().isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				String[] fields = splitCsv(line);
+				if(header == null) {
+					header = fields;
+					continue;
+				}
+
+				Map<String, String> row = new LinkedHashMap<>();
+				for(int i = 0; i < header.length; i++) {
+					row.put(header[i].trim(), i < fields.length ? fields[i] : "");
+				}
+				return row;
+			}
+			return null;
+		}
+	}
+
+	private class JsonLines extends StreamingRows {
+
+		private final BufferedReader reader;
+		private final Json json = new Json();
+
+		JsonLines(BufferedReader reader) {
+			super(reader);
+			this.reader = reader;
+		}
+
+		@Override
+		Map<String, String> read() throws IOException {
+			String line;
+			while((line = reader.readLine()) != null) {
+				if(!line.trim().isEmpty()) {
+					return toStrings(json.toType(line, Json.MAP_TYPE));
+				}
+			}
+			return null;
+		}
+	}
+
+	// Reads one array element at a time instead of the whole document
+	private class JsonArray extends StreamingRows {
+
+		private final JsonInput input;
+		private boolean started;
+
+		JsonArray(Reader reader) {
+			super(reader);
+			this.input = new Json().newInput(reader);
+		}
+
+		@Override
+		Map<String, String> read() {
+			if(!started) {
+				input.beginArray();
+				started = true;
+			}
+			if(!input.hasNext() || input.peek() != JsonType.START_MAP) {
+				return null;
+			}
+			return toStrings(input.read(Json.MAP_TYPE));
+		}
+	}
+
+}
@@ -0,0 +1,196 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class DataSourceTests {
+
+	private Path directory;
+
+
+	// ------------------------------------------
+	// Test Files
+	// ------------------------------------------
+	@BeforeClass
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("datasource-tests");
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void deleteDirectory() throws IOException {
+		try(Stream<Path> files = Files.list(directory)) {
+			for(Path file : (Iterable<Path>) files::iterator) {
+				Files.deleteIfExists(file);
+			}
+		}
+		Files.deleteIfExists(directory);
+	}
+
+	// Each test writes its own file: the row cache is keyed by path and lives for the whole JVM
+	private String write(String name, String... lines) throws IOException {
+		Path file = directory.resolve(name);
+		Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+		return file.toString();
+	}
+
+	private static List<List<Object>> read(Iterator<Object[]> rows) {
+		List<List<Object>> values = new ArrayList<>();
+		rows.forEachRemaining(row -> values.add(Arrays.asList(row)));
+		return values;
+	}
+
+
+	// ------------------------------------------
+	// CSV Parsing
+	// ------------------------------------------
+	@Test
+	public void splitsPlainFields() {
+		Assert.assertEquals(DataSource.splitCsv("Jeffin,Mathew,11040"), new String[]{"Jeffin", "Mathew", "11040"});
+	}
+
+	@Test
+	public void keepsCommasInsideQuotedFields() {
+		Assert.assertEquals(DataSource.splitCsv("\"Smith, Jr.\",John,\"1,2\""), new String[]{"Smith, Jr.", "John", "1,2"});
+	}
+
+	@Test
+	public void unescapesDoubledQuotes() {
+		Assert.assertEquals(DataSource.splitCsv("\"say \"\"hi\"\"\",\"\"\"\""), new String[]{"say \"hi\"", "\""});
+	}
+
+	@Test
+	public void keepsEmptyFields() {
+		Assert.assertEquals(DataSource.splitCsv(",a,,"), new String[]{"", "a", "", ""});
+		Assert.assertEquals(DataSource.splitCsv(""), new String[]{""});
+	}
+
+	@Test
+	public void readsCsvRowsInColumnOrder() throws IOException {
+		String file = write("columns.csv",
+				"firstName,lastName,postalCode",
+				"# comment lines and blank lines are skipped",
+				"",
+				"\"Anne-Marie\",\"O'Neil, Sr.\",60614",
+				"Wei,Chen");
+
+		List<List<Object>> rows = read(DataSource.load(file).columns("postalCode", "firstName", "lastName").iterator());
+
+		Assert.assertEquals(rows, Arrays.asList(
+				Arrays.<Object>asList("60614", "Anne-Marie", "O'Neil, Sr."),
+				Arrays.<Object>asList("", "Wei", "Chen")));
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void rejectsUnknownColumns() throws IOException {
+		String file = write("unknown-column.csv", "firstName", "Jeffin");
+		DataSource.load(file).columns("zip").iterator().next();
+	}
+
+
+	// ------------------------------------------
+	// JSON Parsing
+	// ------------------------------------------
+	@Test
+	public void readsJsonLinesAndArrays() throws IOException {
+		String lines = write("users.jsonl", "{\"username\": \"a\", \"id\": 1}", "", "{\"username\": \"b\", \"id\": 2}");
+		String array = write("users.json", "[{\"username\": \"a\", \"id\": 1}, {\"username\": \"b\", \"id\": 2}]");
+
+		List<List<Object>> expected = Arrays.asList(Arrays.<Object>asList("a", "1"), Arrays.<Object>asList("b", "2"));
+		Assert.assertEquals(read(DataSource.load(lines).columns("username", "id").iterator()), expected);
+		Assert.assertEquals(read(DataSource.load(array).columns("username", "id").iterator()), expected);
+	}
+
+
+	// ------------------------------------------
+	// Selection
+	// ------------------------------------------
+	@Test
+	public void stopsAtTheLimit() throws IOException {
+		String file = write("limit.csv", "n", "1", "2", "3", "4");
+		Assert.assertEquals(read(DataSource.load(file).limit(2).iterator()),
+				Arrays.asList(Arrays.<Object>asList("1"), Arrays.<Object>asList("2")));
+	}
+
+	@Test
+	public void appliesFiltersBeforeTheLimit() throws IOException {
+		String file = write("filter.csv", "n", "1", "2", "3", "4", "5");
+		List<List<Object>> rows = read(DataSource.load(file)
+				.filter(row -> Integer.parseInt(row.get("n")) % 2 == 1)
+				.limit(2)
+				.iterator());
+		Assert.assertEquals(rows, Arrays.asList(Arrays.<Object>asList("1"), Arrays.<Object>asList("3")));
+	}
+
+	@Test
+	public void samplesRepeatablyForTheSameSeed() throws IOException {
+		String[] lines = new String[1001];
+		lines[0] = "n";
+		for(int i = 1; i < lines.length; i++) {
+			lines[i] = String.valueOf(i);
+		}
+		String file = write("sample.csv", lines);
+
+		List<List<Object>> first = read(DataSource.load(file).sample(0.5, 7).iterator());
+		List<List<Object>> second = read(DataSource.load(file).sample(0.5, 7).iterator());
+		List<List<Object>> otherSeed = read(DataSource.load(file).sample(0.5, 8).iterator());
+
+		Assert.assertEquals(second, first);
+		Assert.assertNotEquals(otherSeed, first);
+		Assert.assertTrue(first.size() > 400 && first.size() < 600, "Expected about half the rows, got " + first.size());
+		Assert.assertEquals(read(DataSource.load(file).sample(1.0, 7).iterator()).size(), 1000);
+		Assert.assertTrue(read(DataSource.load(file).sample(0.0, 7).iterator()).isEmpty());
+	}
+
+
+	// ------------------------------------------
+	// Row Cache
+	// ------------------------------------------
+	@Test
+	public void cachesSmallDatasetsOnceFullyRead() throws IOException {
+		String file = write("small.csv", "n", "1", "2");
+		read(DataSource.load(file).iterator());
+
+		Files.delete(directory.resolve("small.csv"));
+
+		Assert.assertEquals(read(DataSource.load(file).iterator()).size(), 2);
+	}
+
+	@Test
+	public void doesNotCachePartiallyReadDatasets() throws IOException {
+		String file = write("partial.csv", "n", "1", "2", "3");
+		read(DataSource.load(file).limit(1).iterator());
+
+		Files.delete(directory.resolve("partial.csv"));
+
+		Assert.assertThrows(IllegalStateException.class, () -> DataSource.load(file).iterator().hasNext());
+	}
+
+	@Test
+	public void streamsDatasetsAboveTheCacheThreshold() throws IOException {
+		int rows = ConfigReader.getInt("dataCacheMaxRows") + 1;
+		String[] lines = new String[rows + 1];
+		lines[0] = "n";
+		for(int i = 1; i < lines.length; i++) {
+			lines[i] = String.valueOf(i);
+		}
+		String file = write("large.csv", lines);
+
+		Assert.assertEquals(read(DataSource.load(file).iterator()).size(), rows);
+
+		Files.delete(directory.resolve("large.csv"));
+
+		Assert.assertThrows(IllegalStateException.class, () -> DataSource.load(file).iterator().hasNext());
+	}
+
+}
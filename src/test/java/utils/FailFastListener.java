@@ -0,0 +1,51 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+public class FailFastListener implements ITestListener, IInvokedMethodListener {
+
+	private static final Logger log = LogManager.getLogger(FailFastListener.class);
+
+	// 0 disables fail-fast
+	private static final int THRESHOLD = ConfigReader.getInt("failFastThreshold");
+
+	private static final AtomicInteger failures = new AtomicInteger();
+
+
+	// ------------------------------------------
+	// Failure Counting
+	// ------------------------------------------
+	@Override
+	public void onTestFailure(ITestResult result) {
+		if(THRESHOLD > 0 && failures.incrementAndGet() == THRESHOLD) {
+			log.error("Fail-fast threshold of {} failure(s) reached; skipping the remaining tests", THRESHOLD);
+		}
+	}
+
+
+	// ------------------------------------------
+	// Skip Gate
+	// ------------------------------------------
+	// Called first thing in BaseTest.setup, so skipped tests never take a browser, log in or
+	// tear down; the invocation hook still covers tests that do not extend BaseTest
+	public static void skipIfThresholdReached() {
+		if(THRESHOLD > 0 && failures.get() >= THRESHOLD) {
+			throw new SkipException("Fail-fast: " + failures.get() + " failure(s) reached the threshold of " + THRESHOLD);
+		}
+	}
+
+	@Override
+	public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+		if(method.isTestMethod()) {
+			skipIfThresholdReached();
+		}
+	}
+
+}
@@ -0,0 +1,240 @@
+package utils;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import base.BaseTest;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+
+public class FailureArtifactListener implements IInvokedMethodListener, ISuiteListener {
+
+	private static final Logger log = LogManager.getLogger(FailureArtifactListener.class);
+
+	private static final boolean ENABLED = ConfigReader.getBoolean("failureArtifacts");
+	private static final boolean JPEG = "jpg".equalsIgnoreCase(ConfigReader.getKey("failureScreenshotFormat"));
+	private static final float JPEG_QUALITY = (float) ConfigReader.getDouble("failureScreenshotJpegQuality");
+
+	// Full queue runs the write on the test thread rather than dropping evidence
+	private static final ThreadPoolExecutor writer = new ThreadPoolExecutor(
+			ConfigReader.getInt("failureArtifactThreads"), ConfigReader.getInt("failureArtifactThreads"),
+			30, TimeUnit.SECONDS,
+			new ArrayBlockingQueue<>(ConfigReader.getInt("failureArtifactQueue")),
+			daemonThreads(), new ThreadPoolExecutor.CallerRunsPolicy());
+
+	private static final Set<String> written = ConcurrentHashMap.newKeySet();
+	private static final Queue<Future<?>> pending = new ConcurrentLinkedQueue<>();
+
+
+	// ------------------------------------------
+	// Capture
+	// ------------------------------------------
+	// Runs before BaseTest.tearDown() releases the browser and before Allure closes the
+	// test case. Only the driver round trips and a hash happen here; decoding, re-encoding
+	// and disk writes happen on the writer threads.
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+
+		if(!ENABLED || !method.isTestMethod() || testResult.getStatus() != ITestResult.FAILURE) {
+			return;
+		}
+
+		WebDriver driver;
+		try {
+			driver = BaseTest.getContext().getDriver();
+		} catch(IllegalStateException e) {
+			log.warn("No browser to capture failure artifacts from for {}", testResult.getName());
+			return;
+		}
+
+		long start = System.nanoTime();
+
+		String screenshot = capture("screenshot", () -> ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64));
+		if(screenshot != null) {
+			attach("Failure screenshot", JPEG ? "image/jpeg" : "image/png", JPEG ? "jpg" : "png",
+					screenshot, () -> encodeScreenshot(screenshot));
+		}
+
+		String pageSource = capture("page source", driver::getPageSource);
+		if(pageSource != null) {
+			attach("Failure page source", "text/html", "html",
+					pageSource, () -> pageSource.getBytes(StandardCharsets.UTF_8));
+		}
+
+		String console = capture("console log", () -> consoleLog(driver));
+		if(console != null && !console.isEmpty()) {
+			attach("Failure console log", "text/plain", "txt",
+					console, () -> console.getBytes(StandardCharsets.UTF_8));
+		}
+
+		log.info("Captured failure artifacts for {} in {} ms",
+				testResult.getName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	private static String capture(String what, Supplier<String> capture) {
+		try {
+			return capture.get();
+		} catch(WebDriverException e) {
+			log.warn("Could not capture {}: {}", what, e.getMessage());
+			return null;
+		}
+	}
+
+	private static String consoleLog(WebDriver driver) {
+		StringBuilder console = new StringBuilder();
+		for(LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+			console.append(entry).append('\n');
+		}
+		return console.toString();
+	}
+
+
+	// ------------------------------------------
+	// Attachment
+	// ------------------------------------------
+	// The attachment is named after the content hash and linked to the test straight away;
+	// identical content (the same error page in several tests) is only encoded and written once.
+	private static void attach(String name, String type, String extension, String content, Supplier<byte[]> body) {
+
+		String source = sha256(content) + "-attachment." + extension;
+		AllureLifecycle lifecycle = Allure.getLifecycle();
+
+		lifecycle.updateTestCase(result -> result.getAttachments().add(
+				new Attachment().setName(name).setType(type).setSource(source)));
+
+		if(!written.add(source)) {
+			return;
+		}
+
+		pending.add(writer.submit(() -> {
+			try {
+				lifecycle.writeAttachment(source, new ByteArrayInputStream(body.get()));
+			} catch(RuntimeException e) {
+				written.remove(source);
+				log.warn("Could not write failure artifact {}", source, e);
+			}
+		}));
+	}
+
+	private static byte[] encodeScreenshot(String base64) {
+
+		byte[] png = Base64.getDecoder().decode(base64);
+		if(!JPEG) {
+			return png;
+		}
+
+		try {
+			BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+			BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+			rgb.createGraphics().drawImage(image, 0, 0, null);
+
+			ImageWriter jpegWriter = ImageIO.getImageWritersByFormatName("jpg").next();
+			ImageWriteParam param = jpegWriter.getDefaultWriteParam();
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(JPEG_QUALITY);
+
+			ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+			try(ImageOutputStream output = ImageIO.createImageOutputStream(jpeg)) {
+				jpegWriter.setOutput(output);
+				jpegWriter.write(null, new IIOImage(rgb, null, null), param);
+			} finally {
+				jpegWriter.dispose();
+			}
+			return jpeg.toByteArray();
+		} catch(IOException e) {
+			throw new RuntimeException("Could not re-encode failure screenshot", e);
+		}
+	}
+
+	private static String sha256(String content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder();
+			for(byte b : digest) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch(NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-256 is not available", e);
+		}
+	}
+
+
+	// ------------------------------------------
+	// Drain
+	// ------------------------------------------
+	// Allure reads the results directory once the JVM exits, so every queued write must land first
+	@Override
+	public void onFinish(ISuite suite) {
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(ConfigReader.getInt("failureArtifactDrainSeconds"));
+		List<Future<?>> unfinished = new ArrayList<>();
+
+		Future<?> next;
+		while((next = pending.poll()) != null) {
+			try {
+				next.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch(TimeoutException e) {
+				unfinished.add(next);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch(ExecutionException e) {
+				log.warn("Failure artifact write failed", e.getCause());
+			}
+		}
+
+		if(!unfinished.isEmpty()) {
+			log.warn("{} failure artifact(s) were still being written when {} finished", unfinished.size(), suite.getName());
+		}
+	}
+
+	private static ThreadFactory daemonThreads() {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "failure-artifacts-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+}
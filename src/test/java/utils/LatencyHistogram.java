@@ -0,0 +1,97 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LatencyHistogram {
+
+	private long[] samples = new long[16];
+	private int count;
+	private long total;
+
+
+	// ------------------------------------------
+	// Recording
+	// ------------------------------------------
+	public synchronized void record(long nanos) {
+
+		if(count == samples.length) {
+			samples = Arrays.copyOf(samples, count * 2);
+		}
+
+		samples[count++] = nanos;
+		total += nanos;
+	}
+
+	public void merge(LatencyHistogram other) {
+
+		long[] otherSamples;
+		int otherCount;
+
+		synchronized(other) {
+			otherSamples = Arrays.copyOf(other.samples, other.count);
+			otherCount = other.count;
+		}
+
+		for(int i = 0; i < otherCount; i++) {
+			record(otherSamples[i]);
+		}
+	}
+
+
+	// ------------------------------------------
+	// Statistics
+	// ------------------------------------------
+	public synchronized int getCount() {
+		return count;
+	}
+
+	public synchronized double getPercentileMillis(double percentile) {
+
+		if(count == 0) {
+			return 0;
+		}
+
+		long[] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+		return toMillis(sorted[nearestRank(percentile, count)]);
+	}
+
+	// Sorts once and returns every figure the reports need
+	public synchronized Map<String, Object> summary() {
+
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("count", count);
+
+		if(count == 0) {
+			return summary;
+		}
+
+		long[] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+
+		summary.put("meanMs", round(toMillis(total) / count));
+		summary.put("minMs", round(toMillis(sorted[0])));
+		summary.put("p50Ms", round(toMillis(sorted[nearestRank(50, count)])));
+		summary.put("p95Ms", round(toMillis(sorted[nearestRank(95, count)])));
+		summary.put("p99Ms", round(toMillis(sorted[nearestRank(99, count)])));
+		summary.put("maxMs", round(toMillis(sorted[count - 1])));
+		summary.put("totalMs", round(toMillis(total)));
+		return summary;
+	}
+
+	private static int nearestRank(double percentile, int count) {
+		int rank = (int) Math.ceil(percentile / 100.0 * count);
+		return Math.min(count - 1, Math.max(0, rank - 1));
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private static double round(double millis) {
+		return Math.round(millis * 1000) / 1000.0;
+	}
+
+}
@@ -0,0 +1,341 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import base.BaseTest;
+import base.DriverFactory;
+import base.TestContext;
+
+// Drives the checkout journey from N concurrent browser sessions for a fixed time and reports
+// throughput, per-step latency percentiles and error rates. Sessions are headless unless
+// -Dheadless is given. Point it at a stand-in with -DbaseUrl=local.
+// Run from the IDE or: java -cp <test classpath> utils.LoadRunner [sessions] [durationSeconds]
+public class LoadRunner {
+
+	private static final Logger log = LogManager.getLogger(LoadRunner.class);
+
+	private static final String JOURNEY = "journey";
+	private static final String START_SESSION = "startSession";
+
+	private static final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<String, AtomicLong> errors = new ConcurrentHashMap<>();
+	private static final AtomicLong completed = new AtomicLong();
+	private static final AtomicLong failed = new AtomicLong();
+
+
+	// ------------------------------------------
+	// Entry Point
+	// ------------------------------------------
+	public static void main(String[] args) throws InterruptedException {
+
+		// Must happen before ConfigReader loads, which is why nothing above touches it
+		if(System.getProperty("headless") == null) {
+			System.setProperty("headless", "true");
+		}
+
+		int sessions = args.length > 0 ? Integer.parseInt(args[0]) : ConfigReader.getInt("loadSessions");
+		long durationMillis = TimeUnit.SECONDS.toMillis(
+				args.length > 1 ? Long.parseLong(args[1]) : ConfigReader.getLong("loadDurationSeconds"));
+		long rampUpMillis = TimeUnit.SECONDS.toMillis(ConfigReader.getLong("loadRampUpSeconds"));
+
+		List<Object[]> checkoutData = new ArrayList<>();
+		Iterator<Object[]> rows = DataSource.load("testdata/checkout_data.csv")
+				.columns("firstName", "lastName", "postalCode")
+				.iterator();
+		rows.forEachRemaining(checkoutData::add);
+
+		ExecutorService users = VirtualThreads.newBoundedExecutor("load-session-", sessions);
+		long start = System.currentTimeMillis();
+		long deadline = start + rampUpMillis + durationMillis;
+
+		try {
+			String baseUrl = BaseTest.getBaseUrl();
+			log.info("Starting {} session(s) against {} over {} ms, running until {} ms after start",
+					sessions, baseUrl, rampUpMillis, rampUpMillis + durationMillis);
+
+			for(int i = 0; i < sessions; i++) {
+				long startDelay = sessions > 1 ? rampUpMillis * i / (sessions - 1) : 0;
+				int session = i;
+				users.submit(() -> runSession(session, start + startDelay, deadline, baseUrl, checkoutData));
+			}
+
+			users.shutdown();
+			users.awaitTermination(durationMillis + rampUpMillis + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS);
+		} finally {
+			users.shutdownNow();
+			LocalSauceDemoServer.stop();
+		}
+
+		report(sessions, System.currentTimeMillis() - start, rampUpMillis, durationMillis);
+	}
+
+
+	// ------------------------------------------
+	// Virtual User
+	// ------------------------------------------
+	// A failed step ends that iteration; a session that no longer answers is replaced, and a
+	// browser that fails to start counts as a failed iteration and is retried with backoff
+	private static void runSession(int session, long startAt, long deadline, String baseUrl, List<Object[]> checkoutData) {
+
+		Thread.currentThread().setName("load-session-" + session);
+		sleepUntil(startAt);
+
+		String username = LoginTestDataReader.get("defaultProductUser");
+		String password = LoginTestDataReader.get("validPassword");
+		long retryMillis = ConfigReader.getLong("loadStartRetryMillis");
+		long maxRetryMillis = ConfigReader.getLong("loadStartRetryMaxMillis");
+
+		WebDriver driver = null;
+		long iteration = 0;
+		long backoff = retryMillis;
+
+		try {
+			while(System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+
+				if(driver == null) {
+					try {
+						driver = timed(START_SESSION, () -> DriverFactory.createDriver(ConfigReader.getKey("browser")));
+						backoff = retryMillis;
+					} catch(RuntimeException e) {
+						countError(START_SESSION);
+						failed.incrementAndGet();
+						log.warn("Session {} could not start a browser, retrying in {} ms: {}", session, backoff, e.toString());
+
+						sleepUntil(Math.min(deadline, System.currentTimeMillis() + backoff));
+						backoff = Math.min(backoff * 2, maxRetryMillis);
+						continue;
+					}
+				}
+
+				TestContext context = new TestContext(driver,
+						new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getInt("explicitWait"))));
+				Object[] customer = checkoutData.get((int) (iteration++ % checkoutData.size()));
+
+				try {
+					runJourney(context, baseUrl, username, password, customer);
+					completed.incrementAndGet();
+				} catch(JourneyStepException e) {
+					failed.incrementAndGet();
+					log.warn("Session {} failed at {}: {}", session, e.getStep(), e.getCause().toString());
+
+					if(!isAlive(driver)) {
+						quietlyQuit(driver);
+						driver = null;
+					}
+				}
+			}
+		} catch(RuntimeException | Error e) {
+			log.error("Session {} stopped", session, e);
+		} finally {
+			quietlyQuit(driver);
+		}
+	}
+
+	private static void runJourney(TestContext context, String baseUrl,
+			String username, String password, Object[] customer) {
+
+		WebDriver driver = context.getDriver();
+		long start = System.nanoTime();
+
+		step("reset", () -> {
+			driver.manage().deleteAllCookies();
+			if(driver.getCurrentUrl().startsWith("http")) {
+				((JavascriptExecutor) driver).executeScript("localStorage.clear(); sessionStorage.clear();");
+			}
+			driver.get(baseUrl);
+		});
+
+		step("login", () -> {
+			context.getLoginPage().login(username, password);
+			context.getInventoryPage().waitForInventoryPage();
+		});
+
+		step("addToCart", () -> context.getInventoryPage().addFirstItemToCart());
+		step("openCart", () -> context.getInventoryPage().openCart());
+		step("checkoutInfo", () -> {
+			context.getCartPage().goToCheckout();
+			context.getCheckoutInfoPage().fillOutForm((String) customer[0], (String) customer[1], (String) customer[2]);
+			context.getCheckoutInfoPage().clickContinue();
+		});
+
+		step("finish", () -> {
+			if(context.getCheckoutOverviewPage().getOverviewItemCount() != 1) {
+				throw new IllegalStateException("Expected 1 item on the checkout overview");
+			}
+			context.getCheckoutOverviewPage().clickFinish();
+		});
+
+		step("confirm", () -> {
+			String header = context.getCheckoutCompletePage().getCompleteHeaderText();
+			if(!header.contains("Thank you")) {
+				throw new IllegalStateException("Unexpected confirmation header: " + header);
+			}
+		});
+
+		record(JOURNEY, System.nanoTime() - start);
+	}
+
+
+	// ------------------------------------------
+	// Measurement
+	// ------------------------------------------
+	private static void step(String name, Runnable action) {
+		try {
+			timed(name, () -> {
+				action.run();
+				return null;
+			});
+		} catch(RuntimeException e) {
+			countError(name);
+			throw new JourneyStepException(name, e);
+		}
+	}
+
+	private static void countError(String name) {
+		errors.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+	}
+
+	private static <T> T timed(String name, Supplier<T> action) {
+		long start = System.nanoTime();
+		T result = action.get();
+		record(name, System.nanoTime() - start);
+		return result;
+	}
+
+	private static void record(String name, long nanos) {
+		latencies.computeIfAbsent(name, key -> new LatencyHistogram()).record(nanos);
+	}
+
+	private static class JourneyStepException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String step;
+
+		JourneyStepException(String step, Throwable cause) {
+			super(step + " failed", cause);
+			this.step = step;
+		}
+
+		String getStep() {
+			return step;
+		}
+	}
+
+
+	// ------------------------------------------
+	// Report
+	// ------------------------------------------
+	private static void report(int sessions, long elapsedMillis, long rampUpMillis, long durationMillis) {
+
+		long journeys = completed.get() + failed.get();
+		double seconds = elapsedMillis / 1000.0;
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("sessions", sessions);
+		report.put("rampUpSeconds", rampUpMillis / 1000);
+		report.put("durationSeconds", durationMillis / 1000);
+		report.put("elapsedSeconds", Math.round(seconds * 10) / 10.0);
+		report.put("completedJourneys", completed.get());
+		report.put("failedJourneys", failed.get());
+		report.put("journeysPerMinute", Math.round(completed.get() / seconds * 60 * 10) / 10.0);
+		report.put("errorRate", journeys == 0 ? 0 : Math.round(failed.get() * 10000.0 / journeys) / 10000.0);
+
+		Map<String, Object> steps = new LinkedHashMap<>();
+		for(Map.Entry<String, LatencyHistogram> step : latencies.entrySet()) {
+			Map<String, Object> summary = step.getValue().summary();
+			summary.put("errors", errors.getOrDefault(step.getKey(), new AtomicLong()).get());
+			steps.put(step.getKey(), summary);
+		}
+		for(Map.Entry<String, AtomicLong> error : errors.entrySet()) {
+			if(!steps.containsKey(error.getKey())) {
+				Map<String, Object> summary = new LinkedHashMap<>();
+				summary.put("count", 0);
+				summary.put("errors", error.getValue().get());
+				steps.put(error.getKey(), summary);
+			}
+		}
+		report.put("steps", steps);
+
+		// Built once and logged as one message, so the table stays together in the log
+		StringBuilder table = new StringBuilder();
+		table.append(String.format("%d session(s), %.1f s: %d journeys completed, %d failed, %.1f/min, error rate %.2f%%%n",
+				sessions, seconds, completed.get(), failed.get(),
+				completed.get() / seconds * 60, journeys == 0 ? 0 : failed.get() * 100.0 / journeys));
+		table.append(String.format("%-14s %7s %10s %10s %10s %8s", "step", "count", "p50 ms", "p95 ms", "p99 ms", "errors"));
+		for(Map.Entry<String, Object> step : steps.entrySet()) {
+			@SuppressWarnings("unchecked")
+			Map<String, Object> summary = (Map<String, Object>) step.getValue();
+			table.append(String.format("%n%-14s %7s %10s %10s %10s %8s", step.getKey(), summary.get("count"),
+					summary.getOrDefault("p50Ms", "-"), summary.getOrDefault("p95Ms", "-"),
+					summary.getOrDefault("p99Ms", "-"), summary.get("errors")));
+		}
+		log.info("Load report:{}{}", System.lineSeparator(), table);
+
+		Path file = Paths.get(ConfigReader.getKey("timingsDir")).resolve("load-report.json");
+		try {
+			Files.createDirectories(file.getParent());
+			Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+			log.info("Wrote load report to {}", file.toAbsolutePath());
+		} catch(IOException e) {
+			log.warn("Could not write load report to {}", file, e);
+		}
+	}
+
+
+	// ------------------------------------------
+	// Helpers
+	// ------------------------------------------
+	private static void sleepUntil(long time) {
+		long wait = time - System.currentTimeMillis();
+		if(wait > 0) {
+			try {
+				Thread.sleep(wait);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static boolean isAlive(WebDriver driver) {
+		try {
+			driver.getWindowHandle();
+			return true;
+		} catch(RuntimeException e) {
+			return false;
+		}
+	}
+
+	private static void quietlyQuit(WebDriver driver) {
+		if(driver == null) {
+			return;
+		}
+		try {
+			driver.quit();
+		} catch(RuntimeException e) {
+			log.debug("Could not quit session", e);
+		}
+	}
+
+}
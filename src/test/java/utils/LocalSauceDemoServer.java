@@ -0,0 +1,150 @@
+package utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class LocalSauceDemoServer {
+
+	private static final Logger log = LogManager.getLogger(LocalSauceDemoServer.class);
+
+	private static final String RESOURCE_ROOT = "mirror";
+	private static final byte[] NOT_FOUND = new byte[0];
+
+	private static final Map<String, byte[]> resources = new ConcurrentHashMap<>();
+
+	private static HttpServer server;
+	private static ExecutorService executor;
+	private static String baseUrl;
+
+
+	// ------------------------------------------
+	// Lifecycle
+	// ------------------------------------------
+	public static synchronized String start() {
+
+		if(server != null) {
+			return baseUrl;
+		}
+
+		try {
+
+			InetAddress loopback = InetAddress.getLoopbackAddress();
+			server = HttpServer.create(new InetSocketAddress(loopback, ConfigReader.getInt("localMirrorPort")), 0);
+			executor = Executors.newFixedThreadPool(ConfigReader.getInt("localMirrorThreads"), runnable -> {
+				Thread thread = new Thread(runnable, "local-saucedemo");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+			server.createContext("/", LocalSauceDemoServer::handle);
+			server.setExecutor(executor);
+			server.start();
+
+		} catch(IOException e) {
+			server = null;
+			throw new RuntimeException("Failed to start local SauceDemo server", e);
+		}
+
+		baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+		log.info("Local SauceDemo server started at {}", baseUrl);
+		return baseUrl;
+	}
+
+	public static synchronized void stop() {
+
+		if(server == null) {
+			return;
+		}
+
+		server.stop(0);
+		executor.shutdownNow();
+		server = null;
+		baseUrl = null;
+		log.info("Local SauceDemo server stopped");
+	}
+
+
+	// ------------------------------------------
+	// Request Handling
+	// ------------------------------------------
+	private static void handle(HttpExchange exchange) throws IOException {
+
+		try {
+
+			String path = exchange.getRequestURI().getPath();
+			if(path.equals("/")) {
+				path = "/index.html";
+			}
+
+			byte[] body = path.contains("..") ? NOT_FOUND : resources.computeIfAbsent(path, LocalSauceDemoServer::load);
+
+			if(body == NOT_FOUND) {
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+
+			exchange.getResponseHeaders().set("Content-Type", contentType(path));
+			exchange.getResponseHeaders().set("Cache-Control", path.endsWith(".html") ? "no-cache" : "max-age=3600");
+
+			if("HEAD".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(200, -1);
+				return;
+			}
+
+			exchange.sendResponseHeaders(200, body.length);
+			try(OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static byte[] load(String path) {
+
+		try(InputStream input = LocalSauceDemoServer.class.getClassLoader().getResourceAsStream(RESOURCE_ROOT + path)) {
+
+			if(input == null) {
+				return NOT_FOUND;
+			}
+
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			byte[] chunk = new byte[8192];
+			int read;
+			while((read = input.read(chunk)) != -1) {
+				buffer.write(chunk, 0, read);
+			}
+			return buffer.toByteArray();
+
+		} catch(IOException e) {
+			throw new RuntimeException("Failed to read " + RESOURCE_ROOT + path, e);
+		}
+	}
+
+	private static String contentType(String path) {
+		if(path.endsWith(".html")) {
+			return "text/html; charset=utf-8";
+		} else if(path.endsWith(".js")) {
+			return "application/javascript; charset=utf-8";
+		} else if(path.endsWith(".css")) {
+			return "text/css; charset=utf-8";
+		} else if(path.endsWith(".svg")) {
+			return "image/svg+xml";
+		}
+		return "application/octet-stream";
+	}
+
+}
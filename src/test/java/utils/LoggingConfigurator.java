@@ -0,0 +1,54 @@
+package utils;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+public class LoggingConfigurator implements ISuiteListener {
+
+	private static final String ASYNC_CONFIG = "log4j2-async.xml";
+
+	private static boolean applied;
+
+
+	// ------------------------------------------
+	// Suite Hook
+	// ------------------------------------------
+	@Override
+	public void onStart(ISuite suite) {
+		apply();
+	}
+
+
+	// ------------------------------------------
+	// Configuration Switch
+	// ------------------------------------------
+	// log4j2.xml (synchronous) is picked up automatically; asyncLogging=true swaps in
+	// the asynchronous variant before the first test logs anything.
+	public static synchronized void apply() {
+
+		if(applied || !ConfigReader.getBoolean("asyncLogging")) {
+			return;
+		}
+
+		URL config = LoggingConfigurator.class.getClassLoader().getResource(ASYNC_CONFIG);
+		if(config == null) {
+			throw new RuntimeException(ASYNC_CONFIG + " not found in classpath");
+		}
+
+		try {
+			Configurator.reconfigure(config.toURI());
+		} catch(URISyntaxException e) {
+			throw new RuntimeException("Failed to load " + ASYNC_CONFIG, e);
+		}
+
+		applied = true;
+		Logger log = LogManager.getLogger(LoggingConfigurator.class);
+		log.info("Asynchronous logging enabled from {}", ASYNC_CONFIG);
+	}
+
+}
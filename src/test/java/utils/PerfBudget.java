@@ -0,0 +1,125 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.testng.Assert;
+import io.qameta.allure.Allure;
+
+// Latency budgets over named user journeys, e.g.
+//   PerfBudget.measure("login->inventory", () -> { login(...); waitForInventoryPage(); });
+//   PerfBudget.assertPercentile("login->inventory", 95, budgetMillis);
+// Samples accumulate for the whole run; assert once every row has run (e.g. from @AfterClass),
+// not per row, or the result depends on which rows happened to finish first. Journeys are
+// shared by the whole JVM, so put the browser in the name for matrix runs ("login->inventory@firefox").
+public class PerfBudget {
+
+	private static final Logger log = LogManager.getLogger(PerfBudget.class);
+
+	private static final boolean ENFORCED = ConfigReader.getBoolean("perfBudgetEnforce");
+	private static final Path REPORT = Paths.get(ConfigReader.getKey("timingsDir"), "perf-metrics.jsonl");
+
+	private static final ConcurrentMap<String, LatencyHistogram> journeys = new ConcurrentHashMap<>();
+
+
+	// ------------------------------------------
+	// Measurement
+	// ------------------------------------------
+	public static long measure(String journey, Runnable action) {
+
+		long start = System.nanoTime();
+		action.run();
+		long nanos = System.nanoTime() - start;
+
+		journeys.computeIfAbsent(journey, key -> new LatencyHistogram()).record(nanos);
+		Timings.record("journey." + journey, nanos);
+		return nanos / 1_000_000;
+	}
+
+
+	// ------------------------------------------
+	// Assertions
+	// ------------------------------------------
+	public static boolean hasSamples(String journey) {
+		LatencyHistogram histogram = journeys.get(journey);
+		return histogram != null && histogram.getCount() > 0;
+	}
+
+	public static void assertP95(String journey, long budgetMillis) {
+		assertPercentile(journey, 95, budgetMillis);
+	}
+
+	// With perfBudgetEnforce=false a blown budget is reported and logged but does not fail
+	public static void assertPercentile(String journey, double percentile, long budgetMillis) {
+
+		LatencyHistogram histogram = journeys.get(journey);
+		if(histogram == null || histogram.getCount() == 0) {
+			throw new IllegalStateException("No samples recorded for journey '" + journey + "'");
+		}
+
+		double actual = histogram.getPercentileMillis(percentile);
+		boolean passed = actual <= budgetMillis;
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("kind", "budget");
+		result.put("journey", journey);
+		result.put("percentile", percentile);
+		result.put("actualMs", Math.round(actual * 10) / 10.0);
+		result.put("budgetMs", budgetMillis);
+		result.put("samples", histogram.getCount());
+		result.put("passed", passed);
+
+		report(result);
+		Allure.addAttachment("Latency budget: " + journey, "application/json", new Json().toJson(result), ".json");
+
+		String message = String.format("p%s of %s is %.1f ms over %d sample(s), budget %d ms",
+				(int) percentile, journey, actual, histogram.getCount(), budgetMillis);
+
+		if(passed) {
+			log.info(message);
+		} else if(ENFORCED) {
+			Assert.fail("Latency budget exceeded: " + message);
+		} else {
+			log.warn("Latency budget exceeded: {}", message);
+		}
+	}
+
+
+	// ------------------------------------------
+	// Report File
+	// ------------------------------------------
+	// One JSON object per line, tagged with the test it came from
+	public static synchronized void report(Map<String, Object> record) {
+
+		Map<String, Object> line = new LinkedHashMap<>();
+		line.put("test", ThreadContext.get("testName"));
+		line.put("timestamp", System.currentTimeMillis());
+		line.putAll(record);
+
+		try {
+			Files.createDirectories(REPORT.getParent());
+			try(Writer writer = Files.newBufferedWriter(REPORT, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+					JsonOutput output = new Json().newOutput(writer)) {
+				output.setPrettyPrint(false).write(line);
+				writer.write('\n');
+			}
+		} catch(IOException e) {
+			log.warn("Could not append to {}", REPORT, e);
+		}
+	}
+
+}
@@ -0,0 +1,140 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+// Streams JFR jdk.VirtualThreadPinned events while the suite runs: a virtual thread that blocks
+// inside synchronized (or native code) holds its carrier thread, which quietly caps concurrency.
+// Each pin above pinnedThreadThresholdMillis is logged with the frame that caused it and
+// counted per frame in timingsDir/<suite>-pinned-threads.json. Only active with virtual threads;
+// the JFR types live in PinnedEventStream, which is loaded only then, so the listener can stay
+// registered in testng.xml on JDKs without jdk.jfr.consumer.RecordingStream (added in 14).
+public class PinnedThreadMonitor implements ISuiteListener {
+
+	private static final Logger log = LogManager.getLogger(PinnedThreadMonitor.class);
+
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+	private PinnedEventStream stream;
+	private final Map<String, AtomicLong> pinsByFrame = new ConcurrentHashMap<>();
+	private final AtomicLong pins = new AtomicLong();
+	private final AtomicLong pinnedNanos = new AtomicLong();
+
+
+	// ------------------------------------------
+	// Recording
+	// ------------------------------------------
+	@Override
+	public void onStart(ISuite suite) {
+
+		if(!VirtualThreads.isEnabled()) {
+			return;
+		}
+
+		try {
+			stream = new PinnedEventStream(this, Duration.ofMillis(ConfigReader.getInt("pinnedThreadThresholdMillis")));
+			log.info("Monitoring virtual thread pinning for {}", suite.getName());
+		} catch(RuntimeException | LinkageError e) {
+			log.warn("JFR is unavailable, virtual thread pinning will not be reported", e);
+			stream = null;
+		}
+	}
+
+	private void onPinned(String frame, long nanos) {
+
+		pins.incrementAndGet();
+		pinnedNanos.addAndGet(nanos);
+		pinsByFrame.computeIfAbsent(frame, key -> new AtomicLong()).incrementAndGet();
+		Timings.record("virtualThread.pinned", nanos);
+
+		log.warn("Virtual thread pinned its carrier for {} ms at {}", TimeUnit.NANOSECONDS.toMillis(nanos), frame);
+	}
+
+
+	// ------------------------------------------
+	// Report
+	// ------------------------------------------
+	@Override
+	public void onFinish(ISuite suite) {
+
+		if(stream == null) {
+			return;
+		}
+		stream.close();
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("pins", pins.get());
+		report.put("pinnedMs", TimeUnit.NANOSECONDS.toMillis(pinnedNanos.get()));
+		Map<String, Long> frames = new LinkedHashMap<>();
+		pinsByFrame.entrySet().stream()
+				.sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+				.forEach(entry -> frames.put(entry.getKey(), entry.getValue().get()));
+		report.put("byFrame", frames);
+
+		log.info("Virtual thread pinning in {}: {} pin(s), {} ms in total", suite.getName(), pins.get(), report.get("pinnedMs"));
+
+		Path file = Paths.get(ConfigReader.getKey("timingsDir"))
+				.resolve(suite.getName().replaceAll("[^A-Za-z0-9_-]", "_") + "-pinned-threads.json");
+		try {
+			Files.createDirectories(file.getParent());
+			Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+		} catch(IOException e) {
+			log.warn("Could not write pinning report to {}", file, e);
+		}
+	}
+
+
+	// ------------------------------------------
+	// JFR Stream
+	// ------------------------------------------
+	private static class PinnedEventStream {
+
+		private final RecordingStream recording = new RecordingStream();
+
+		PinnedEventStream(PinnedThreadMonitor monitor, Duration threshold) {
+			recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+			recording.onEvent(PINNED_EVENT, event -> monitor.onPinned(blockingFrame(event), event.getDuration().toNanos()));
+			recording.startAsync();
+		}
+
+		void close() {
+			recording.close();
+		}
+
+		// The first frame of our own code explains the pin better than the JDK frames above it
+		private static String blockingFrame(RecordedEvent event) {
+
+			if(event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+				return "unknown";
+			}
+
+			for(RecordedFrame frame : event.getStackTrace().getFrames()) {
+				String type = frame.getMethod().getType().getName();
+				if(type.startsWith("base.") || type.startsWith("pages.") || type.startsWith("utils.") || type.startsWith("tests.")) {
+					return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+				}
+			}
+
+			RecordedFrame top = event.getStackTrace().getFrames().get(0);
+			return top.getMethod().getType().getName() + "." + top.getMethod().getName() + ":" + top.getLineNumber();
+		}
+	}
+
+}
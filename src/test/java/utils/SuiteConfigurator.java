@@ -0,0 +1,42 @@
+package utils;
+
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+public class SuiteConfigurator implements IAlterSuiteListener {
+
+	private static final Logger log = LogManager.getLogger(SuiteConfigurator.class);
+
+
+	// ------------------------------------------
+	// Suite Alteration
+	// ------------------------------------------
+	// Empty parallel/threadCount keep whatever testng.xml declares
+	@Override
+	public void alter(List<XmlSuite> suites) {
+
+		for(XmlSuite suite : suites) {
+
+			if(ConfigReader.has("parallel")) {
+				suite.setParallel(XmlSuite.ParallelMode.getValidParallel(ConfigReader.getKey("parallel")));
+			}
+
+			if(ConfigReader.has("threadCount")) {
+				suite.setThreadCount(ConfigReader.getInt("threadCount"));
+				suite.setDataProviderThreadCount(ConfigReader.getInt("threadCount"));
+			}
+
+			if(ConfigReader.has("dataProviderThreadCount")) {
+				suite.setDataProviderThreadCount(ConfigReader.getInt("dataProviderThreadCount"));
+			}
+
+			log.info("Suite {} runs with parallel={} threadCount={} dataProviderThreadCount={} (profile: {})", suite.getName(),
+					suite.getParallel(), suite.getThreadCount(), suite.getDataProviderThreadCount(),
+					ConfigReader.getProfile().isEmpty() ? "none" : ConfigReader.getProfile());
+		}
+	}
+
+}
@@ -0,0 +1,287 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.testng.ITestNGMethod;
+
+public class TestHistory {
+
+	private static final Logger log = LogManager.getLogger(TestHistory.class);
+
+	private static final Path FILE = Paths.get(ConfigReader.getKey("historyFile"));
+	private static final double SMOOTHING = ConfigReader.getDouble("historySmoothing");
+
+	private static Map<String, Entry> snapshot;
+	private static final Map<String, DoubleAdder> currentRun = new ConcurrentHashMap<>();
+	private static final Set<String> currentFailures = ConcurrentHashMap.newKeySet();
+	private static final Map<String, String> currentClassHashes = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, String> classHashes = new ConcurrentHashMap<>();
+
+
+	// ------------------------------------------
+	// History Entry
+	// ------------------------------------------
+	public static class Entry {
+
+		private final double durationMillis;
+		private final int runs;
+		private final long lastRunAt;
+		private final int lastFailedRun;
+		private final String classHash;
+
+		private Entry(double durationMillis, int runs, long lastRunAt, int lastFailedRun, String classHash) {
+			this.durationMillis = durationMillis;
+			this.runs = runs;
+			this.lastRunAt = lastRunAt;
+			this.lastFailedRun = lastFailedRun;
+			this.classHash = classHash;
+		}
+
+		public double getDurationMillis() {
+			return durationMillis;
+		}
+
+		public int getRuns() {
+			return runs;
+		}
+
+		public long getLastRunAt() {
+			return lastRunAt;
+		}
+
+		// Content hash of the test class when it last ran; null if it was never recorded
+		public String getClassHash() {
+			return classHash;
+		}
+
+		// 0 when the latest recorded run failed, 1 the run before, ...; -1 if it never failed
+		public int getRunsSinceFailure() {
+			return lastFailedRun < 0 ? -1 : runs - lastFailedRun;
+		}
+	}
+
+
+	// ------------------------------------------
+	// Lookup
+	// ------------------------------------------
+	// Keys are declaring class + method name, so data-provider rows and matrix
+	// browsers of one method add up to a single schedulable unit
+	public static String key(ITestNGMethod method) {
+		return key(method.getRealClass().getName(), method.getMethodName());
+	}
+
+	public static String key(String className, String methodName) {
+		return className + "." + methodName;
+	}
+
+	public static synchronized Map<String, Entry> load() {
+		if(snapshot == null) {
+			snapshot = Collections.unmodifiableMap(read(FILE));
+			log.debug("Loaded history for {} test method(s) from {}", snapshot.size(), FILE);
+		}
+		return snapshot;
+	}
+
+	// -1 when the method has never been recorded
+	public static double getDurationMillis(String key) {
+		Entry entry = load().get(key);
+		return entry == null ? -1 : entry.durationMillis;
+	}
+
+	public static Entry get(String key) {
+		return load().get(key);
+	}
+
+
+	// ------------------------------------------
+	// Recording
+	// ------------------------------------------
+	public static void record(String key, long millis, boolean failed, String classHash) {
+		currentRun.computeIfAbsent(key, name -> new DoubleAdder()).add(millis);
+		if(failed) {
+			currentFailures.add(key);
+		}
+		if(classHash != null) {
+			currentClassHashes.put(key, classHash);
+		}
+	}
+
+	// SHA-256 of the compiled class, so a clean rebuild of unchanged sources does not count as a
+	// change the way a newer .class timestamp would; null when the class file cannot be read
+	public static String classHash(Class<?> type) {
+
+		String hash = classHashes.computeIfAbsent(type, key -> {
+			String resource = "/" + key.getName().replace('.', '/') + ".class";
+			try(InputStream in = key.getResourceAsStream(resource)) {
+				if(in == null) {
+					return "";
+				}
+				MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				byte[] buffer = new byte[8192];
+				for(int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+					digest.update(buffer, 0, read);
+				}
+				StringBuilder hex = new StringBuilder();
+				for(byte b : digest.digest()) {
+					hex.append(String.format("%02x", b));
+				}
+				return hex.toString();
+			} catch(IOException | NoSuchAlgorithmException e) {
+				log.debug("Could not hash {}", key.getName(), e);
+				return "";
+			}
+		});
+		return hash.isEmpty() ? null : hash;
+	}
+
+	// Durations are smoothed against the snapshot this run planned from, so one slow run does
+	// not reshuffle every shard. Results go to outputFile(), never to the planning input of a
+	// sharded run; it is locked and re-read first, so shards sharing a workspace merge instead of overwriting.
+	public static synchronized void save() {
+
+		if(currentRun.isEmpty()) {
+			return;
+		}
+
+		Map<String, Entry> planned = load();
+		Path output = outputFile();
+
+		try {
+			if(output.getParent() != null) {
+				Files.createDirectories(output.getParent());
+			}
+
+			Path lockFile = Paths.get(output + ".lock");
+			try(FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+				// Shards finishing together merge one at a time
+				FileLock lock = channel.lock();
+				try {
+					Map<String, Entry> merged = Files.isRegularFile(output) ? read(output) : new TreeMap<>(planned);
+					long now = System.currentTimeMillis();
+
+					for(Map.Entry<String, DoubleAdder> run : currentRun.entrySet()) {
+						double measured = run.getValue().sum();
+						Entry previous = planned.get(run.getKey());
+
+						int runs = previous == null ? 1 : previous.runs + 1;
+						double duration = previous == null
+								? measured
+								: SMOOTHING * measured + (1 - SMOOTHING) * previous.durationMillis;
+						int lastFailedRun = currentFailures.contains(run.getKey())
+								? runs
+								: previous == null ? -1 : previous.lastFailedRun;
+
+						String classHash = currentClassHashes.containsKey(run.getKey())
+								? currentClassHashes.get(run.getKey())
+								: previous == null ? null : previous.classHash;
+
+						merged.put(run.getKey(), new Entry(duration, runs, now, lastFailedRun, classHash));
+					}
+
+					write(output, merged);
+					log.info("Updated history for {} test method(s) in {}", currentRun.size(), output.toAbsolutePath());
+					currentRun.clear();
+					currentFailures.clear();
+					currentClassHashes.clear();
+					snapshot = null;
+				} finally {
+					lock.release();
+				}
+			}
+		} catch(IOException e) {
+			log.warn("Could not update test history at {}", output, e);
+		}
+	}
+
+	// historyOutputFile when set; otherwise historyFile itself, except for sharded runs, which
+	// write <name>.next.json beside it so no shard changes the plan the others are still reading
+	static Path outputFile() {
+
+		String configured = ConfigReader.getKey("historyOutputFile", "");
+		if(!configured.isEmpty()) {
+			return Paths.get(configured);
+		}
+		if(ConfigReader.getKey("shard", "").isEmpty()) {
+			return FILE;
+		}
+
+		String name = FILE.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		return FILE.resolveSibling(dot < 0 ? name + ".next" : name.substring(0, dot) + ".next" + name.substring(dot));
+	}
+
+
+	// ------------------------------------------
+	// Persistence
+	// ------------------------------------------
+	@SuppressWarnings("unchecked")
+	private static Map<String, Entry> read(Path file) {
+
+		Map<String, Entry> entries = new TreeMap<>();
+		if(!Files.isRegularFile(file)) {
+			return entries;
+		}
+
+		try {
+			String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+			Map<String, Object> tests = new Json().toType(json, Json.MAP_TYPE);
+
+			for(Map.Entry<String, Object> test : tests.entrySet()) {
+				Map<String, Object> values = (Map<String, Object>) test.getValue();
+				entries.put(test.getKey(), new Entry(
+						((Number) values.get("durationMs")).doubleValue(),
+						((Number) values.get("runs")).intValue(),
+						values.containsKey("lastRunAt") ? ((Number) values.get("lastRunAt")).longValue() : 0,
+						values.containsKey("lastFailedRun") ? ((Number) values.get("lastFailedRun")).intValue() : -1,
+						(String) values.get("classHash")));
+			}
+		} catch(IOException | RuntimeException e) {
+			log.warn("Ignoring unreadable test history at {}", file, e);
+			entries.clear();
+		}
+		return entries;
+	}
+
+	private static void write(Path file, Map<String, Entry> entries) throws IOException {
+
+		Map<String, Object> tests = new LinkedHashMap<>();
+		for(Map.Entry<String, Entry> entry : entries.entrySet()) {
+			Map<String, Object> values = new LinkedHashMap<>();
+			values.put("durationMs", Math.round(entry.getValue().durationMillis));
+			values.put("runs", entry.getValue().runs);
+			values.put("lastRunAt", entry.getValue().lastRunAt);
+			if(entry.getValue().lastFailedRun >= 0) {
+				values.put("lastFailedRun", entry.getValue().lastFailedRun);
+			}
+			if(entry.getValue().classHash != null) {
+				values.put("classHash", entry.getValue().classHash);
+			}
+			tests.put(entry.getKey(), values);
+		}
+
+		Path temp = Paths.get(file + ".tmp");
+		Files.write(temp, new Json().toJson(tests).getBytes(StandardCharsets.UTF_8));
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+}
@@ -0,0 +1,37 @@
+package utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+public class TestHistoryListener implements ITestListener, ISuiteListener {
+
+	// ------------------------------------------
+	// Per-Test Recording
+	// ------------------------------------------
+	@Override
+	public void onTestSuccess(ITestResult result) {
+		record(result, false);
+	}
+
+	@Override
+	public void onTestFailure(ITestResult result) {
+		record(result, true);
+	}
+
+
+	// ------------------------------------------
+	// Suite Hook
+	// ------------------------------------------
+	@Override
+	public void onFinish(ISuite suite) {
+		TestHistory.save();
+	}
+
+	private static void record(ITestResult result, boolean failed) {
+		TestHistory.record(TestHistory.key(result.getMethod()), result.getEndMillis() - result.getStartMillis(), failed,
+				TestHistory.classHash(result.getMethod().getRealClass()));
+	}
+
+}
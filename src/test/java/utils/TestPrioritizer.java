@@ -0,0 +1,126 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+public class TestPrioritizer implements IMethodInterceptor, IAlterSuiteListener {
+
+	private static final Logger log = LogManager.getLogger(TestPrioritizer.class);
+
+	private static final boolean ENABLED = ConfigReader.getBoolean("prioritizeTests");
+	private static final int RECENT_FAILURE_RUNS = ConfigReader.getInt("recentFailureRuns");
+
+
+	// ------------------------------------------
+	// Method Priority
+	// ------------------------------------------
+	// Lower rank runs first: 0 recently failed, 1 class bytes changed since it last ran (or new),
+	// 2 everything else.
+	// Within a rank the longest method starts first so it is not the one holding up the end.
+	private static class Priority {
+
+		private final int rank;
+		private final int runsSinceFailure;
+		private final double durationMillis;
+
+		private Priority(Class<?> testClass, String method) {
+			TestHistory.Entry entry = TestHistory.get(TestHistory.key(testClass.getName(), method));
+
+			int sinceFailure = entry == null ? -1 : entry.getRunsSinceFailure();
+			boolean recentlyFailed = sinceFailure >= 0 && sinceFailure < RECENT_FAILURE_RUNS;
+			String classHash = TestHistory.classHash(testClass);
+			boolean changed = entry == null
+					|| classHash != null && entry.getClassHash() != null && !classHash.equals(entry.getClassHash());
+
+			this.rank = recentlyFailed ? 0 : changed ? 1 : 2;
+			this.runsSinceFailure = recentlyFailed ? sinceFailure : Integer.MAX_VALUE;
+			this.durationMillis = entry == null ? 0 : entry.getDurationMillis();
+		}
+
+		private static final Comparator<Priority> ORDER = Comparator
+				.comparingInt((Priority priority) -> priority.rank)
+				.thenComparingInt(priority -> priority.runsSinceFailure)
+				.thenComparing(Comparator.comparingDouble((Priority priority) -> priority.durationMillis).reversed());
+	}
+
+
+	// ------------------------------------------
+	// Method Ordering
+	// ------------------------------------------
+	@Override
+	public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+
+		if(!ENABLED) {
+			return methods;
+		}
+
+		Map<IMethodInstance, Priority> priorities = new ConcurrentHashMap<>();
+		for(IMethodInstance instance : methods) {
+			priorities.put(instance, new Priority(
+					instance.getMethod().getRealClass(), instance.getMethod().getMethodName()));
+		}
+
+		// List.sort is stable, so equal priorities keep their declaration order
+		List<IMethodInstance> ordered = new ArrayList<>(methods);
+		ordered.sort((a, b) -> Priority.ORDER.compare(priorities.get(a), priorities.get(b)));
+
+		long failed = priorities.values().stream().filter(priority -> priority.rank == 0).count();
+		long changed = priorities.values().stream().filter(priority -> priority.rank == 1).count();
+		log.info("Ordered {} method(s) in {}: {} recently failed, {} changed or new first",
+				ordered.size(), context.getName(), failed, changed);
+		return ordered;
+	}
+
+
+	// ------------------------------------------
+	// Test Block Ordering
+	// ------------------------------------------
+	// The interceptor only sees one <test> at a time, so the blocks themselves are
+	// reordered by the best priority among their methods.
+	@Override
+	public void alter(List<XmlSuite> suites) {
+
+		if(!ENABLED) {
+			return;
+		}
+
+		for(XmlSuite suite : suites) {
+
+			Map<XmlTest, Priority> best = new ConcurrentHashMap<>();
+			for(XmlTest test : suite.getTests()) {
+				for(XmlClass xmlClass : test.getXmlClasses()) {
+					for(String method : TestSharder.testMethods(xmlClass)) {
+						Priority priority = new Priority(xmlClass.getSupportClass(), method);
+						best.merge(test, priority, (a, b) -> Priority.ORDER.compare(a, b) <= 0 ? a : b);
+					}
+				}
+			}
+
+			List<XmlTest> ordered = new ArrayList<>(suite.getTests());
+			ordered.sort((a, b) -> {
+				Priority left = best.get(a);
+				Priority right = best.get(b);
+				if(left == null || right == null) {
+					return left == null ? (right == null ? 0 : 1) : -1;
+				}
+				return Integer.compare(left.rank, right.rank);
+			});
+
+			suite.getTests().clear();
+			suite.getTests().addAll(ordered);
+		}
+	}
+
+}
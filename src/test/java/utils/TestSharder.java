@@ -0,0 +1,213 @@
+package utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+public class TestSharder implements IAlterSuiteListener {
+
+	private static final Logger log = LogManager.getLogger(TestSharder.class);
+
+	static final double UNKNOWN_DURATION_MILLIS = 1000;
+
+
+	// ------------------------------------------
+	// Schedulable Unit
+	// ------------------------------------------
+	private static class Unit {
+
+		private final XmlClass xmlClass;
+		private final String method;
+		private final String key;
+
+		private Unit(XmlClass xmlClass, String method) {
+			this.xmlClass = xmlClass;
+			this.method = method;
+			this.key = TestHistory.key(xmlClass.getName(), method);
+		}
+	}
+
+
+	// ------------------------------------------
+	// Suite Alteration
+	// ------------------------------------------
+	// -Dshard=i/N keeps only the methods assigned to shard i. The N runs cover the suite
+	// exactly once only if every shard plans from the same snapshot: hand all of them the same
+	// -DhistoryFile (e.g. restored from CI cache). Shards never write it, see TestHistory.outputFile().
+	@Override
+	public void alter(List<XmlSuite> suites) {
+
+		String spec = ConfigReader.getKey("shard", "");
+		if(spec.isEmpty()) {
+			return;
+		}
+
+		String[] parts = spec.split("/");
+		int shard;
+		int shards;
+		try {
+			shard = Integer.parseInt(parts[0].trim());
+			shards = Integer.parseInt(parts[1].trim());
+		} catch(RuntimeException e) {
+			throw new IllegalStateException("shard must look like i/N (e.g. 2/4), was: " + spec, e);
+		}
+		if(shards < 1 || shard < 1 || shard > shards) {
+			throw new IllegalStateException("shard index must be between 1 and N, was: " + spec);
+		}
+
+		for(XmlSuite suite : suites) {
+			apply(suite, shard, shards);
+		}
+	}
+
+	private static void apply(XmlSuite suite, int shard, int shards) {
+
+		List<Unit> units = new ArrayList<>();
+		for(XmlTest test : suite.getTests()) {
+			for(XmlClass xmlClass : test.getXmlClasses()) {
+				for(String method : testMethods(xmlClass)) {
+					units.add(new Unit(xmlClass, method));
+				}
+			}
+		}
+
+		double[] recorded = new double[units.size()];
+		String[] keys = new String[units.size()];
+		for(int i = 0; i < units.size(); i++) {
+			keys[i] = units.get(i).key;
+			recorded[i] = TestHistory.getDurationMillis(keys[i]);
+		}
+
+		double[] estimates = estimate(recorded);
+		int[] plan = assign(estimates, keys, shards);
+
+		double[] load = new double[shards];
+		List<Unit> assigned = new ArrayList<>();
+		for(int i = 0; i < units.size(); i++) {
+			load[plan[i]] += estimates[i];
+			if(plan[i] == shard - 1) {
+				assigned.add(units.get(i));
+			}
+		}
+
+		restrict(suite, assigned);
+
+		double total = 0;
+		for(double shardLoad : load) {
+			total += shardLoad;
+		}
+		log.info("Shard {}/{} runs {} of {} test method(s), ~{} s of ~{} s estimated", shard, shards,
+				assigned.size(), units.size(), Math.round(load[shard - 1] / 1000), Math.round(total / 1000));
+	}
+
+
+	// ------------------------------------------
+	// Planning
+	// ------------------------------------------
+	// Longest processing time first: biggest remaining unit goes to the least loaded shard.
+	// Returns the 0-based shard of each unit; ties are broken by key, so the plan depends
+	// only on its inputs and every shard given the same history computes the same one.
+	static int[] assign(double[] estimates, String[] keys, int shards) {
+
+		Integer[] order = new Integer[estimates.length];
+		for(int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingDouble((Integer i) -> estimates[i]).reversed()
+				.thenComparing(i -> keys[i]));
+
+		double[] load = new double[shards];
+		int[] plan = new int[estimates.length];
+
+		for(int unit : order) {
+			int target = 0;
+			for(int i = 1; i < shards; i++) {
+				if(load[i] < load[target]) {
+					target = i;
+				}
+			}
+			load[target] += estimates[unit];
+			plan[unit] = target;
+		}
+		return plan;
+	}
+
+	// Methods without history (negative) are assumed to take as long as a typical known method
+	static double[] estimate(double[] recorded) {
+
+		List<Double> known = new ArrayList<>();
+		for(double millis : recorded) {
+			if(millis >= 0) {
+				known.add(millis);
+			}
+		}
+
+		known.sort(null);
+		double fallback = known.isEmpty() ? UNKNOWN_DURATION_MILLIS : known.get(known.size() / 2);
+
+		double[] estimates = new double[recorded.length];
+		for(int i = 0; i < recorded.length; i++) {
+			estimates[i] = recorded[i] >= 0 ? recorded[i] : fallback;
+		}
+		return estimates;
+	}
+
+
+	// ------------------------------------------
+	// Helpers
+	// ------------------------------------------
+	static List<String> testMethods(XmlClass xmlClass) {
+
+		if(!xmlClass.getIncludedMethods().isEmpty()) {
+			return xmlClass.getIncludedMethods().stream().map(XmlInclude::getName).collect(Collectors.toList());
+		}
+
+		List<String> methods = new ArrayList<>();
+		for(Method method : xmlClass.getSupportClass().getMethods()) {
+			Test test = method.getAnnotation(Test.class);
+			if(test != null && test.enabled() && !xmlClass.getExcludedMethods().contains(method.getName())) {
+				methods.add(method.getName());
+			}
+		}
+		methods.sort(null);
+		return methods;
+	}
+
+	private static void restrict(XmlSuite suite, List<Unit> assigned) {
+
+		for(XmlTest test : new ArrayList<>(suite.getTests())) {
+
+			List<XmlClass> kept = new ArrayList<>();
+			for(XmlClass xmlClass : test.getXmlClasses()) {
+				List<XmlInclude> includes = new ArrayList<>();
+				for(Unit unit : assigned) {
+					if(unit.xmlClass == xmlClass) {
+						includes.add(new XmlInclude(unit.method));
+					}
+				}
+				if(!includes.isEmpty()) {
+					xmlClass.setIncludedMethods(includes);
+					kept.add(xmlClass);
+				}
+			}
+
+			if(kept.isEmpty()) {
+				suite.getTests().remove(test);
+			} else {
+				test.setXmlClasses(kept);
+			}
+		}
+	}
+
+}
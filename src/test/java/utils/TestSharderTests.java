@@ -0,0 +1,88 @@
+package utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TestSharderTests {
+
+	private static double[] loads(double[] estimates, int[] plan, int shards) {
+		double[] load = new double[shards];
+		for(int i = 0; i < plan.length; i++) {
+			load[plan[i]] += estimates[i];
+		}
+		return load;
+	}
+
+
+	// ------------------------------------------
+	// Longest Processing Time Assignment
+	// ------------------------------------------
+	@Test
+	public void givesEachUnitToTheLeastLoadedShardLongestFirst() {
+		double[] estimates = {3, 5, 3, 4, 3};
+		String[] keys = {"c", "a", "d", "b", "e"};
+
+		int[] plan = TestSharder.assign(estimates, keys, 2);
+
+		// 5 -> 0, 4 -> 1, 3 (c) -> 1, 3 (d) -> 0, 3 (e) -> 1
+		Assert.assertEquals(plan, new int[]{1, 0, 0, 1, 1});
+		Assert.assertEquals(loads(estimates, plan, 2), new double[]{8, 10});
+	}
+
+	@Test
+	public void breaksTiesByKeyWhateverTheInputOrder() {
+		int[] plan = TestSharder.assign(new double[]{1, 1, 1, 1}, new String[]{"d", "b", "a", "c"}, 2);
+		int[] reordered = TestSharder.assign(new double[]{1, 1, 1, 1}, new String[]{"a", "b", "c", "d"}, 2);
+
+		// a -> 0, b -> 1, c -> 0, d -> 1 in both cases
+		Assert.assertEquals(plan, new int[]{1, 1, 0, 0});
+		Assert.assertEquals(reordered, new int[]{0, 1, 0, 1});
+	}
+
+	@Test
+	public void assignsEveryUnitToExactlyOneValidShard() {
+		double[] estimates = new double[37];
+		String[] keys = new String[estimates.length];
+		for(int i = 0; i < estimates.length; i++) {
+			estimates[i] = (i * 7919) % 101;
+			keys[i] = "tests.Class.method" + i;
+		}
+
+		int[] plan = TestSharder.assign(estimates, keys, 4);
+
+		Assert.assertEquals(plan.length, estimates.length);
+		double total = 0;
+		for(int i = 0; i < plan.length; i++) {
+			Assert.assertTrue(plan[i] >= 0 && plan[i] < 4, "Unit " + i + " went to shard " + plan[i]);
+			total += estimates[i];
+		}
+
+		// LPT never leaves a shard more than one unit (at most 100 ms here) above the average
+		for(double load : loads(estimates, plan, 4)) {
+			Assert.assertTrue(load <= total / 4 + 100, "Shard load " + load + " of " + total);
+		}
+	}
+
+	@Test
+	public void leavesExtraShardsEmpty() {
+		int[] plan = TestSharder.assign(new double[]{10, 20}, new String[]{"a", "b"}, 4);
+		Assert.assertEquals(plan, new int[]{1, 0});
+	}
+
+
+	// ------------------------------------------
+	// Estimates
+	// ------------------------------------------
+	@Test
+	public void estimatesUnknownUnitsFromTheMedianOfKnownOnes() {
+		double[] estimates = TestSharder.estimate(new double[]{100, -1, 300, 200, -1});
+		Assert.assertEquals(estimates, new double[]{100, 200, 300, 200, 200});
+	}
+
+	@Test
+	public void fallsBackToADefaultWithoutAnyHistory() {
+		double[] estimates = TestSharder.estimate(new double[]{-1, -1});
+		Assert.assertEquals(estimates, new double[]{TestSharder.UNKNOWN_DURATION_MILLIS, TestSharder.UNKNOWN_DURATION_MILLIS});
+	}
+
+}
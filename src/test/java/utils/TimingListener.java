@@ -0,0 +1,63 @@
+package utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+public class TimingListener implements WebDriverListener {
+
+	// Calls can nest (e.g. a script argument being unwrapped), so starts are kept as a stack
+	private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+
+	// ------------------------------------------
+	// WebDriverListener Hooks
+	// ------------------------------------------
+	@Override
+	public void beforeAnyCall(Object target, Method method, Object[] args) {
+		starts.get().push(System.nanoTime());
+	}
+
+	@Override
+	public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+		finish(target, method);
+	}
+
+	@Override
+	public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+		finish(target, method);
+	}
+
+
+	// ------------------------------------------
+	// Helpers
+	// ------------------------------------------
+	private void finish(Object target, Method method) {
+
+		Long start = starts.get().poll();
+		if(start != null) {
+			Timings.record(category(target) + "." + method.getName(), System.nanoTime() - start);
+		}
+	}
+
+	private static String category(Object target) {
+		if(target instanceof WebElement) {
+			return "element";
+		} else if(target instanceof WebDriver) {
+			return "driver";
+		} else if(target instanceof WebDriver.Navigation) {
+			return "navigate";
+		} else if(target instanceof WebDriver.TargetLocator) {
+			return "switchTo";
+		} else if(target instanceof Alert) {
+			return "alert";
+		}
+		return "options";
+	}
+
+}
@@ -0,0 +1,70 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import base.CachingElementLocator;
+import io.qameta.allure.Allure;
+
+public class TimingReportListener implements IInvokedMethodListener, ISuiteListener {
+
+	private static final Logger log = LogManager.getLogger(TimingReportListener.class);
+
+
+	// ------------------------------------------
+	// Per-Test Report
+	// ------------------------------------------
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+
+		if(!Timings.isEnabled() || !method.isTestMethod()) {
+			return;
+		}
+
+		// Runs before Allure closes the test case, so the attachment lands on the test itself
+		Map<String, LatencyHistogram> timings = Timings.finishTest();
+		if(!timings.isEmpty()) {
+			Allure.addAttachment("Step timings", "text/csv", Timings.toCsv(timings), ".csv");
+		}
+	}
+
+
+	// ------------------------------------------
+	// Per-Suite Report
+	// ------------------------------------------
+	@Override
+	public void onFinish(ISuite suite) {
+
+		if(ConfigReader.getBoolean("locatorCache")) {
+			log.info("Locator cache for {}: {}", suite.getName(), CachingElementLocator.getStats());
+		}
+
+		if(!Timings.isEnabled()) {
+			return;
+		}
+
+		Map<String, LatencyHistogram> timings = Timings.getSuiteTimings();
+		Path directory = Paths.get(ConfigReader.getKey("timingsDir"));
+		String baseName = suite.getName().replaceAll("[^A-Za-z0-9_-]", "_") + "-timings";
+
+		try {
+			Files.createDirectories(directory);
+			Files.write(directory.resolve(baseName + ".json"), Timings.toJson(timings).getBytes(StandardCharsets.UTF_8));
+			Files.write(directory.resolve(baseName + ".csv"), Timings.toCsv(timings).getBytes(StandardCharsets.UTF_8));
+			log.info("Wrote timing report for {} step(s) to {}", timings.size(), directory.toAbsolutePath());
+		} catch(IOException e) {
+			log.warn("Could not write timing report to {}", directory, e);
+		}
+	}
+
+}
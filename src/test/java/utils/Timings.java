@@ -0,0 +1,110 @@
+package utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+import org.openqa.selenium.json.Json;
+
+public class Timings {
+
+	private static final boolean ENABLED = ConfigReader.getBoolean("instrumentation");
+
+	private static final ConcurrentMap<String, LatencyHistogram> suite = new ConcurrentSkipListMap<>();
+	private static final ThreadLocal<Map<String, LatencyHistogram>> currentTest = new ThreadLocal<>();
+
+
+	// ------------------------------------------
+	// Recording
+	// ------------------------------------------
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	public static void record(String step, long nanos) {
+
+		if(!ENABLED) {
+			return;
+		}
+
+		suite.computeIfAbsent(step, key -> new LatencyHistogram()).record(nanos);
+
+		Map<String, LatencyHistogram> test = currentTest.get();
+		if(test != null) {
+			test.computeIfAbsent(step, key -> new LatencyHistogram()).record(nanos);
+		}
+	}
+
+	public static void time(String step, Runnable action) {
+		time(step, () -> {
+			action.run();
+			return null;
+		});
+	}
+
+	public static <T> T time(String step, Supplier<T> action) {
+
+		if(!ENABLED) {
+			return action.get();
+		}
+
+		long start = System.nanoTime();
+		try {
+			return action.get();
+		} finally {
+			record(step, System.nanoTime() - start);
+		}
+	}
+
+
+	// ------------------------------------------
+	// Per-Test Scope
+	// ------------------------------------------
+	public static void startTest() {
+		if(ENABLED) {
+			currentTest.set(new TreeMap<>());
+		}
+	}
+
+	public static Map<String, LatencyHistogram> finishTest() {
+		Map<String, LatencyHistogram> test = currentTest.get();
+		currentTest.remove();
+		return test == null ? new TreeMap<>() : test;
+	}
+
+	public static Map<String, LatencyHistogram> getSuiteTimings() {
+		return new TreeMap<>(suite);
+	}
+
+
+	// ------------------------------------------
+	// Report Formatting
+	// ------------------------------------------
+	public static String toCsv(Map<String, LatencyHistogram> timings) {
+
+		StringBuilder csv = new StringBuilder("step,count,meanMs,minMs,p50Ms,p95Ms,p99Ms,maxMs,totalMs\n");
+
+		for(Map.Entry<String, LatencyHistogram> entry : timings.entrySet()) {
+			Map<String, Object> summary = entry.getValue().summary();
+			csv.append(entry.getKey());
+			for(String column : new String[] {"count", "meanMs", "minMs", "p50Ms", "p95Ms", "p99Ms", "maxMs", "totalMs"}) {
+				csv.append(',').append(summary.getOrDefault(column, ""));
+			}
+			csv.append('\n');
+		}
+
+		return csv.toString();
+	}
+
+	public static String toJson(Map<String, LatencyHistogram> timings) {
+
+		Map<String, Object> summaries = new TreeMap<>();
+		for(Map.Entry<String, LatencyHistogram> entry : timings.entrySet()) {
+			summaries.put(entry.getKey(), entry.getValue().summary());
+		}
+
+		return new Json().toJson(summaries);
+	}
+
+}
@@ -0,0 +1,39 @@
+package utils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IExecutorServiceFactory;
+
+// TestNG worker pool that runs each test (with its @BeforeMethod/@AfterMethod) on its own
+// virtual thread. Installed by the jdk21 profile, or on the command line with
+//   -threadpoolfactoryclass utils.VirtualThreadExecutorFactory
+// Concurrency is capped by browser capacity rather than thread-count: virtualThreadSessions,
+// else BrowserMatrix.threadBudget(). Falls back to TestNG's own pool below Java 21.
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+	private static final Logger log = LogManager.getLogger(VirtualThreadExecutorFactory.class);
+
+	@Override
+	public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+			BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+
+		if(!VirtualThreads.isEnabled()) {
+			log.info("Virtual threads {}, running tests on platform threads",
+					VirtualThreads.isSupported() ? "disabled" : "need Java 21+");
+			return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+		}
+
+		int sessions = ConfigReader.getInt("virtualThreadSessions") > 0
+				? ConfigReader.getInt("virtualThreadSessions")
+				: BrowserMatrix.threadBudget();
+
+		log.info("Running tests on virtual threads, at most {} browser session(s) at once", sessions);
+		return VirtualThreads.newBoundedExecutor("testng-virtual-", Math.max(1, sessions));
+	}
+
+}
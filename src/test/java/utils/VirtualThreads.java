@@ -0,0 +1,150 @@
+package utils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// Virtual threads through reflection, so the default build (Java 8 source level, run on the
+// Java 11+ that Selenium needs) compiles and runs without them; on Java 21+ (the jdk21 profile)
+// they replace platform threads where virtualThreads=true.
+public class VirtualThreads {
+
+	private static final Logger log = LogManager.getLogger(VirtualThreads.class);
+
+	private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+	private static final Method THREAD_PER_TASK = lookup(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+
+	// ------------------------------------------
+	// Availability
+	// ------------------------------------------
+	public static boolean isSupported() {
+		return OF_VIRTUAL != null && THREAD_PER_TASK != null;
+	}
+
+	public static boolean isEnabled() {
+		return isSupported() && ConfigReader.getBoolean("virtualThreads");
+	}
+
+	public static boolean isVirtual(Thread thread) {
+		Method isVirtual = lookup(Thread.class, "isVirtual");
+		try {
+			return isVirtual != null && (Boolean) isVirtual.invoke(thread);
+		} catch(ReflectiveOperationException e) {
+			return false;
+		}
+	}
+
+
+	// ------------------------------------------
+	// Factories
+	// ------------------------------------------
+	// Virtual threads named <prefix>N when enabled, daemon platform threads otherwise
+	public static ThreadFactory threadFactory(String prefix) {
+
+		if(isEnabled()) {
+			try {
+				Object builder = OF_VIRTUAL.invoke(null);
+				Method name = builder.getClass().getMethod("name", String.class, long.class);
+				name.setAccessible(true);
+				builder = name.invoke(builder, prefix, 1L);
+				Method factory = builder.getClass().getMethod("factory");
+				factory.setAccessible(true);
+				return (ThreadFactory) factory.invoke(builder);
+			} catch(ReflectiveOperationException e) {
+				log.warn("Could not create virtual thread factory, using platform threads", e);
+			}
+		}
+
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	// A fresh virtual thread per task with at most `concurrency` running at once. With virtual
+	// threads the limit is what matters (browsers, not OS threads); waiting tasks cost next to
+	// nothing. Threads are never reused, so no ThreadLocal or ThreadContext leaks between tests.
+	public static ExecutorService newBoundedExecutor(String prefix, int concurrency) {
+		if(isEnabled()) {
+			try {
+				ExecutorService perTask = (ExecutorService) THREAD_PER_TASK.invoke(null, threadFactory(prefix));
+				return new BoundedExecutor(perTask, concurrency);
+			} catch(ReflectiveOperationException e) {
+				log.warn("Could not create thread-per-task executor, using platform threads", e);
+			}
+		}
+		return Executors.newFixedThreadPool(concurrency, threadFactory(prefix));
+	}
+
+	private static Method lookup(Class<?> type, String name, Class<?>... parameterTypes) {
+		try {
+			return type.getMethod(name, parameterTypes);
+		} catch(NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+
+	// ------------------------------------------
+	// Bounded Executor
+	// ------------------------------------------
+	private static class BoundedExecutor extends AbstractExecutorService {
+
+		private final ExecutorService delegate;
+		private final Semaphore permits;
+
+		BoundedExecutor(ExecutorService delegate, int concurrency) {
+			this.delegate = delegate;
+			this.permits = new Semaphore(concurrency, true);
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			delegate.execute(() -> {
+				permits.acquireUninterruptibly();
+				try {
+					task.run();
+				} finally {
+					permits.release();
+				}
+			});
+		}
+
+		@Override
+		public void shutdown() {
+			delegate.shutdown();
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			return delegate.shutdownNow();
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return delegate.isShutdown();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return delegate.isTerminated();
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+			return delegate.awaitTermination(timeout, unit);
+		}
+	}
+
+}
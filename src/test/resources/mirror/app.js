@@ -0,0 +1,562 @@
+/*
+ * Local stand-in for https://www.saucedemo.com used by the test suite.
+ * Mirrors the ids, classes and data-test attributes the page objects rely on,
+ * plus the behaviour of the special demo users.
+ */
+(function () {
+    'use strict';
+
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user',
+                 'performance_glitch_user', 'error_user', 'visual_user'];
+    var SESSION_COOKIE = 'session-username';
+    var CART_KEY = 'cart-contents';
+    var TAX_RATE = 0.08;
+
+    var PRODUCTS = [
+        { id: 4, name: 'Sauce Labs Backpack', price: 29.99,
+          desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.' },
+        { id: 0, name: 'Sauce Labs Bike Light', price: 9.99,
+          desc: 'A red light isn\'t the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included.' },
+        { id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99,
+          desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt.' },
+        { id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99,
+          desc: 'It\'s not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office.' },
+        { id: 2, name: 'Sauce Labs Onesie', price: 7.99,
+          desc: 'Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won\'t unravel.' },
+        { id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99,
+          desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton.' }
+    ];
+
+    // Items problem_user and error_user cannot add to the cart
+    var BROKEN_ADD_IDS = [1, 3, 5];
+
+    var PERFORMANCE_GLITCH_DELAY_MS = 1500;
+
+    // ------------------------------------------
+    // Helpers
+    // ------------------------------------------
+    function escapeHtml(value) {
+        return String(value)
+            .replace(/&/g, '&amp;').replace(/</g, '&lt;').replace(/>/g, '&gt;')
+            .replace(/"/g, '&quot;').replace(/'/g, '&#39;');
+    }
+
+    function slug(name) {
+        return name.toLowerCase().replace(/ /g, '-');
+    }
+
+    function findProduct(id) {
+        for (var i = 0; i < PRODUCTS.length; i++) {
+            if (PRODUCTS[i].id === id) {
+                return PRODUCTS[i];
+            }
+        }
+        return null;
+    }
+
+    function formatPrice(price) {
+        return '$' + price.toFixed(2);
+    }
+
+    function currentUser() {
+        var match = document.cookie.match(new RegExp('(?:^|; )' + SESSION_COOKIE + '=([^;]*)'));
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function startSession(username) {
+        document.cookie = SESSION_COOKIE + '=' + encodeURIComponent(username) + '; path=/; max-age=600';
+    }
+
+    function cart() {
+        try {
+            return JSON.parse(window.localStorage.getItem(CART_KEY)) || [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function saveCart(ids) {
+        if (ids.length === 0) {
+            window.localStorage.removeItem(CART_KEY);
+        } else {
+            window.localStorage.setItem(CART_KEY, JSON.stringify(ids));
+        }
+    }
+
+    function go(page) {
+        window.location.href = page;
+    }
+
+    function root() {
+        return document.getElementById('root');
+    }
+
+    // ------------------------------------------
+    // Shared Header
+    // ------------------------------------------
+    function headerHtml(title, secondaryHtml) {
+        var count = cart().length;
+        var visualClass = currentUser() === 'visual_user' ? ' visual_failure' : '';
+
+        return '<div id="header_container" class="header_container">'
+             + '  <div class="primary_header">'
+             + '    <div class="app_logo">Swag Labs</div>'
+             + '    <div id="shopping_cart_container" class="shopping_cart_container' + visualClass + '">'
+             + '      <a class="shopping_cart_link" data-test="shopping-cart-link" href="cart.html">'
+             + (count > 0 ? '<span class="shopping_cart_badge" data-test="shopping-cart-badge">' + count + '</span>' : '')
+             + '      </a>'
+             + '    </div>'
+             + '  </div>'
+             + '  <div class="header_secondary_container">'
+             + '    <span class="title" data-test="title">' + escapeHtml(title) + '</span>'
+             + (secondaryHtml || '')
+             + '  </div>'
+             + '</div>';
+    }
+
+    function refreshBadge() {
+        var link = document.querySelector('.shopping_cart_link');
+        if (!link) {
+            return;
+        }
+        var count = cart().length;
+        link.innerHTML = count > 0
+            ? '<span class="shopping_cart_badge" data-test="shopping-cart-badge">' + count + '</span>'
+            : '';
+    }
+
+    function errorHtml(message) {
+        return '<h3 data-test="error">' + escapeHtml(message)
+             + '<button class="error-button" data-test="error-button" aria-label="Close error"></button>'
+             + '</h3>';
+    }
+
+    function bindErrorClose(container) {
+        var button = container.querySelector('.error-button');
+        if (button) {
+            button.addEventListener('click', function () {
+                container.innerHTML = '';
+            });
+        }
+    }
+
+    function requireSession() {
+        if (!currentUser()) {
+            window.sessionStorage.setItem('login-error',
+                'Epic sadface: You can only access \'' + window.location.pathname + '\' when you are logged in.');
+            window.location.replace('index.html');
+            return false;
+        }
+        return true;
+    }
+
+    // ------------------------------------------
+    // Login Page
+    // ------------------------------------------
+    function renderLogin() {
+        root().innerHTML =
+              '<div class="login_logo">Swag Labs</div>'
+            + '<div class="login_wrapper">'
+            + '  <form id="login_form">'
+            + '    <div class="form_group"><input class="input_error form_input" placeholder="Username" type="text"'
+            + '      data-test="username" id="user-name" name="user-name" autocorrect="off" autocapitalize="none"></div>'
+            + '    <div class="form_group"><input class="input_error form_input" placeholder="Password" type="password"'
+            + '      data-test="password" id="password" name="password" autocorrect="off" autocapitalize="none"></div>'
+            + '    <div class="error-message-container"></div>'
+            + '    <input type="submit" class="submit-button btn_action" data-test="login-button" id="login-button"'
+            + '      name="login-button" value="Login">'
+            + '  </form>'
+            + '</div>';
+
+        var errors = document.querySelector('.error-message-container');
+
+        var pendingError = window.sessionStorage.getItem('login-error');
+        if (pendingError) {
+            window.sessionStorage.removeItem('login-error');
+            errors.innerHTML = errorHtml(pendingError);
+            bindErrorClose(errors);
+        }
+
+        document.getElementById('login_form').addEventListener('submit', function (event) {
+            event.preventDefault();
+
+            var username = document.getElementById('user-name').value;
+            var password = document.getElementById('password').value;
+            var error = null;
+
+            if (!username) {
+                error = 'Epic sadface: Username is required';
+            } else if (!password) {
+                error = 'Epic sadface: Password is required';
+            } else if (USERS.indexOf(username) === -1 || password !== PASSWORD) {
+                error = 'Epic sadface: Username and password do not match any user in this service';
+            } else if (username === 'locked_out_user') {
+                error = 'Epic sadface: Sorry, this user has been locked out.';
+            }
+
+            if (error) {
+                errors.innerHTML = errorHtml(error);
+                bindErrorClose(errors);
+                return;
+            }
+
+            startSession(username);
+
+            if (username === 'performance_glitch_user') {
+                window.setTimeout(function () { go('inventory.html'); }, PERFORMANCE_GLITCH_DELAY_MS);
+            } else {
+                go('inventory.html');
+            }
+        });
+    }
+
+    // ------------------------------------------
+    // Inventory Page
+    // ------------------------------------------
+    var SORTS = {
+        az: function (a, b) { return a.name < b.name ? -1 : a.name > b.name ? 1 : 0; },
+        za: function (a, b) { return a.name < b.name ? 1 : a.name > b.name ? -1 : 0; },
+        lohi: function (a, b) { return a.price - b.price || SORTS.az(a, b); },
+        hilo: function (a, b) { return b.price - a.price || SORTS.az(a, b); }
+    };
+
+    function inventoryButtonHtml(product, inCart) {
+        var id = (inCart ? 'remove-' : 'add-to-cart-') + slug(product.name);
+        return inCart
+            ? '<button class="btn btn_secondary btn_small btn_inventory " data-test="' + escapeHtml(id)
+                + '" id="' + escapeHtml(id) + '" name="' + escapeHtml(id) + '">Remove</button>'
+            : '<button class="btn btn_primary btn_small btn_inventory " data-test="' + escapeHtml(id)
+                + '" id="' + escapeHtml(id) + '" name="' + escapeHtml(id) + '">Add to cart</button>';
+    }
+
+    function inventoryItemHtml(product, ids, user) {
+        var image = user === 'problem_user' ? 'sl-404.jpg' : 'placeholder.svg';
+
+        return '<div class="inventory_item" data-test="inventory-item">'
+             + '  <div class="inventory_item_img"><a href="#" id="item_' + product.id + '_img_link">'
+             + '    <img alt="' + escapeHtml(product.name) + '" class="inventory_item_img" src="img/' + image + '"></a></div>'
+             + '  <div class="inventory_item_description" data-test="inventory-item-description">'
+             + '    <div class="inventory_item_label">'
+             + '      <a href="#" id="item_' + product.id + '_title_link">'
+             + '        <div class="inventory_item_name " data-test="inventory-item-name">' + escapeHtml(product.name) + '</div></a>'
+             + '      <div class="inventory_item_desc" data-test="inventory-item-desc">' + escapeHtml(product.desc) + '</div>'
+             + '    </div>'
+             + '    <div class="pricebar">'
+             + '      <div class="inventory_item_price" data-test="inventory-item-price">' + formatPrice(product.price) + '</div>'
+             + inventoryButtonHtml(product, ids.indexOf(product.id) !== -1)
+             + '    </div>'
+             + '  </div>'
+             + '</div>';
+    }
+
+    function renderInventory() {
+        if (!requireSession()) {
+            return;
+        }
+
+        var user = currentUser();
+        var sortKey = 'az';
+
+        root().innerHTML =
+              headerHtml('Products',
+                  '<div class="right_component"><span class="select_container">'
+                + '  <select class="product_sort_container" data-test="product-sort-container">'
+                + '    <option value="az">Name (A to Z)</option>'
+                + '    <option value="za">Name (Z to A)</option>'
+                + '    <option value="lohi">Price (low to high)</option>'
+                + '    <option value="hilo">Price (high to low)</option>'
+                + '  </select></span></div>')
+            + '<div id="inventory_container" class="inventory_container">'
+            + '  <div class="inventory_list" data-test="inventory-list"></div>'
+            + '</div>';
+
+        var list = document.querySelector('.inventory_list');
+
+        function renderList() {
+            var ids = cart();
+            var products = PRODUCTS.slice().sort(SORTS[sortKey]);
+            list.innerHTML = products.map(function (product) {
+                return inventoryItemHtml(product, ids, user);
+            }).join('');
+        }
+
+        document.querySelector('.product_sort_container').addEventListener('change', function (event) {
+            if (user === 'problem_user') {
+                return;
+            }
+            if (user === 'error_user') {
+                window.alert('Sorting is broken! This error has been reported to Backtrace.');
+                return;
+            }
+            sortKey = event.target.value;
+            renderList();
+        });
+
+        list.addEventListener('click', function (event) {
+            var button = event.target.closest('button');
+            if (!button) {
+                return;
+            }
+
+            var name = button.closest('.inventory_item').querySelector('.inventory_item_name').innerText.trim();
+            var product = PRODUCTS.filter(function (candidate) { return candidate.name === name; })[0];
+            var ids = cart();
+            var inCart = ids.indexOf(product.id) !== -1;
+
+            if (!inCart && BROKEN_ADD_IDS.indexOf(product.id) !== -1
+                    && (user === 'problem_user' || user === 'error_user')) {
+                if (user === 'error_user') {
+                    console.error('Failed to add item to the cart.');
+                }
+                return;
+            }
+
+            if (inCart) {
+                ids.splice(ids.indexOf(product.id), 1);
+            } else {
+                ids.push(product.id);
+            }
+            saveCart(ids);
+
+            // Replace the button node the same way a re-render would
+            var holder = document.createElement('div');
+            holder.innerHTML = inventoryButtonHtml(product, !inCart);
+            button.parentNode.replaceChild(holder.firstChild, button);
+            refreshBadge();
+        });
+
+        renderList();
+    }
+
+    // ------------------------------------------
+    // Cart & Overview Items
+    // ------------------------------------------
+    function cartItemHtml(product, withRemoveButton) {
+        var id = 'remove-' + slug(product.name);
+
+        return '<div class="cart_item" data-test="inventory-item">'
+             + '  <div class="cart_quantity" data-test="item-quantity">1</div>'
+             + '  <div class="cart_item_label">'
+             + '    <a href="#" id="item_' + product.id + '_title_link">'
+             + '      <div class="inventory_item_name" data-test="inventory-item-name">' + escapeHtml(product.name) + '</div></a>'
+             + '    <div class="inventory_item_desc" data-test="inventory-item-desc">' + escapeHtml(product.desc) + '</div>'
+             + '    <div class="item_pricebar">'
+             + '      <div class="inventory_item_price" data-test="inventory-item-price">' + formatPrice(product.price) + '</div>'
+             + (withRemoveButton
+                 ? '<button class="btn btn_secondary btn_small cart_button" data-test="' + escapeHtml(id)
+                     + '" id="' + escapeHtml(id) + '" name="' + escapeHtml(id) + '">Remove</button>'
+                 : '')
+             + '    </div>'
+             + '  </div>'
+             + '</div>';
+    }
+
+    function cartProducts() {
+        return cart().map(findProduct).filter(function (product) { return product !== null; });
+    }
+
+    // ------------------------------------------
+    // Cart Page
+    // ------------------------------------------
+    function renderCart() {
+        if (!requireSession()) {
+            return;
+        }
+
+        root().innerHTML =
+              headerHtml('Your Cart')
+            + '<div id="cart_contents_container" class="cart_contents_container">'
+            + '  <div class="cart_list" data-test="cart-list">'
+            + '    <div class="cart_quantity_label">QTY</div><div class="cart_desc_label">Description</div>'
+            + cartProducts().map(function (product) { return cartItemHtml(product, true); }).join('')
+            + '  </div>'
+            + '  <div class="cart_footer">'
+            + '    <button class="btn btn_secondary back btn_medium" data-test="continue-shopping" id="continue-shopping"'
+            + '      name="continue-shopping">Continue Shopping</button>'
+            + '    <button class="btn btn_action btn_medium checkout_button " data-test="checkout" id="checkout"'
+            + '      name="checkout">Checkout</button>'
+            + '  </div>'
+            + '</div>';
+
+        document.querySelector('.cart_list').addEventListener('click', function (event) {
+            var button = event.target.closest('button');
+            if (!button) {
+                return;
+            }
+
+            var item = button.closest('.cart_item');
+            var name = item.querySelector('.inventory_item_name').innerText.trim();
+            var ids = cart().filter(function (id) { return findProduct(id).name !== name; });
+
+            saveCart(ids);
+            item.parentNode.removeChild(item);
+            refreshBadge();
+        });
+
+        document.getElementById('continue-shopping').addEventListener('click', function () {
+            go('inventory.html');
+        });
+        document.getElementById('checkout').addEventListener('click', function () {
+            go('checkout-step-one.html');
+        });
+    }
+
+    // ------------------------------------------
+    // Checkout: Your Information
+    // ------------------------------------------
+    function renderCheckoutInfo() {
+        if (!requireSession()) {
+            return;
+        }
+
+        var user = currentUser();
+
+        root().innerHTML =
+              headerHtml('Checkout: Your Information')
+            + '<div id="checkout_info_container" class="checkout_info_container">'
+            + '  <form id="checkout_form">'
+            + '    <div class="checkout_info">'
+            + '      <div class="form_group"><input class="input_error form_input" placeholder="First Name" type="text"'
+            + '        data-test="firstName" id="first-name" name="firstName"></div>'
+            + '      <div class="form_group"><input class="input_error form_input" placeholder="Last Name" type="text"'
+            + '        data-test="lastName" id="last-name" name="lastName"></div>'
+            + '      <div class="form_group"><input class="input_error form_input" placeholder="Zip/Postal Code" type="text"'
+            + '        data-test="postalCode" id="postal-code" name="postalCode"></div>'
+            + '      <div class="error-message-container"></div>'
+            + '    </div>'
+            + '    <div class="checkout_buttons">'
+            + '      <button class="btn btn_secondary back btn_medium cart_cancel_link" data-test="cancel" id="cancel"'
+            + '        name="cancel" type="button">Cancel</button>'
+            + '      <input type="submit" class="submit-button btn btn_primary cart_button btn_action" data-test="continue"'
+            + '        id="continue" name="continue" value="Continue">'
+            + '    </div>'
+            + '  </form>'
+            + '</div>';
+
+        var firstName = document.getElementById('first-name');
+        var lastName = document.getElementById('last-name');
+        var postalCode = document.getElementById('postal-code');
+        var errors = document.querySelector('.error-message-container');
+
+        if (user === 'problem_user') {
+            // Typing into the last name field overwrites the first name instead
+            lastName.addEventListener('input', function () {
+                firstName.value = lastName.value.slice(-1);
+                lastName.value = '';
+            });
+        }
+
+        document.getElementById('checkout_form').addEventListener('submit', function (event) {
+            event.preventDefault();
+
+            var error = null;
+            if (!firstName.value) {
+                error = 'Error: First Name is required';
+            } else if (!lastName.value) {
+                error = 'Error: Last Name is required';
+            } else if (!postalCode.value) {
+                error = 'Error: Postal Code is required';
+            }
+
+            if (error) {
+                errors.innerHTML = errorHtml(error);
+                bindErrorClose(errors);
+                return;
+            }
+
+            go('checkout-step-two.html');
+        });
+
+        document.getElementById('cancel').addEventListener('click', function () {
+            go('cart.html');
+        });
+    }
+
+    // ------------------------------------------
+    // Checkout: Overview
+    // ------------------------------------------
+    function renderCheckoutOverview() {
+        if (!requireSession()) {
+            return;
+        }
+
+        var user = currentUser();
+        var products = cartProducts();
+        var subtotal = products.reduce(function (sum, product) { return sum + product.price; }, 0);
+        var tax = Math.round(subtotal * TAX_RATE * 100) / 100;
+
+        root().innerHTML =
+              headerHtml('Checkout: Overview')
+            + '<div id="checkout_summary_container" class="checkout_summary_container">'
+            + '  <div class="cart_list" data-test="cart-list">'
+            + products.map(function (product) { return cartItemHtml(product, false); }).join('')
+            + '  </div>'
+            + '  <div class="summary_info">'
+            + '    <div class="summary_info_label" data-test="payment-info-label">Payment Information:</div>'
+            + '    <div class="summary_value_label" data-test="payment-info-value">SauceCard #31337</div>'
+            + '    <div class="summary_info_label" data-test="shipping-info-label">Shipping Information:</div>'
+            + '    <div class="summary_value_label" data-test="shipping-info-value">Free Pony Express Delivery!</div>'
+            + '    <div class="summary_subtotal_label" data-test="subtotal-label">Item total: ' + formatPrice(subtotal) + '</div>'
+            + '    <div class="summary_tax_label" data-test="tax-label">Tax: ' + formatPrice(tax) + '</div>'
+            + '    <div class="summary_total_label" data-test="total-label">Total: ' + formatPrice(subtotal + tax) + '</div>'
+            + '    <div class="cart_footer">'
+            + '      <button class="btn btn_secondary back btn_medium cart_cancel_link" data-test="cancel" id="cancel"'
+            + '        name="cancel">Cancel</button>'
+            + '      <button class="btn btn_action btn_medium cart_button" data-test="finish" id="finish"'
+            + '        name="finish">Finish</button>'
+            + '    </div>'
+            + '  </div>'
+            + '</div>';
+
+        document.getElementById('finish').addEventListener('click', function () {
+            if (user === 'error_user') {
+                console.error('Failed to complete the order.');
+                return;
+            }
+            saveCart([]);
+            go('checkout-complete.html');
+        });
+
+        document.getElementById('cancel').addEventListener('click', function () {
+            go('inventory.html');
+        });
+    }
+
+    // ------------------------------------------
+    // Checkout: Complete
+    // ------------------------------------------
+    function renderCheckoutComplete() {
+        if (!requireSession()) {
+            return;
+        }
+
+        root().innerHTML =
+              headerHtml('Checkout: Complete!')
+            + '<div id="checkout_complete_container" class="checkout_complete_container">'
+            + '  <h2 class="complete-header" data-test="complete-header">Thank you for your order!</h2>'
+            + '  <div class="complete-text" data-test="complete-text">Your order has been dispatched, and will arrive'
+            + '    just as fast as the pony can get there!</div>'
+            + '  <button class="btn btn_primary btn_small" data-test="back-to-products" id="back-to-products"'
+            + '    name="back-to-products">Back Home</button>'
+            + '</div>';
+
+        document.getElementById('back-to-products').addEventListener('click', function () {
+            go('inventory.html');
+        });
+    }
+
+    // ------------------------------------------
+    // Router
+    // ------------------------------------------
+    var PAGES = {
+        'login': renderLogin,
+        'inventory': renderInventory,
+        'cart': renderCart,
+        'checkout-step-one': renderCheckoutInfo,
+        'checkout-step-two': renderCheckoutOverview,
+        'checkout-complete': renderCheckoutComplete
+    };
+
+    PAGES[document.body.getAttribute('data-page')]();
+})();